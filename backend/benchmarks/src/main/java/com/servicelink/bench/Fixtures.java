@@ -0,0 +1,84 @@
+package com.servicelink.bench;
+
+import com.servicelink.model.Booking;
+import com.servicelink.model.BookingStatus;
+import com.servicelink.model.PaymentStatus;
+import com.servicelink.model.ServiceCategory;
+import com.servicelink.model.ServiceListing;
+import com.servicelink.model.User;
+import com.servicelink.security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Entities and wired-up components shared by the benchmarks; no Spring context is started. */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        User u = new User();
+        u.setId(id);
+        u.setName("Provider " + id);
+        u.setEmail("provider" + id + "@example.com");
+        u.setUsername("provider" + id);
+        u.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z8p0qLQzH6FB1Bf4YzqD5Ety");
+        u.setRoleNames(List.of("ROLE_USER", "ROLE_PROVIDER"));
+        u.setActive(true);
+        return u;
+    }
+
+    static ServiceListing listing(long id) {
+        ServiceCategory c = new ServiceCategory();
+        c.setId(3L);
+        c.setName("Cleaning");
+        c.setIcon("broom");
+        ServiceListing l = new ServiceListing();
+        l.setId(id);
+        l.setTitle("Deep apartment clean #" + id);
+        l.setDescription("Kitchen, bathroom and floors, supplies included. Two cleaners, about three hours.");
+        l.setPrice(new BigDecimal("89.90"));
+        l.setOwner(user(id % 50 + 1));
+        l.setCategory(c);
+        return l;
+    }
+
+    static Booking booking(long id) {
+        Booking b = new Booking();
+        b.setId(id);
+        b.setListing(listing(id));
+        b.setCustomer(user(1000 + id));
+        b.setProviderId(b.getListing().getOwner().getId());
+        b.setSlotId(id * 7);
+        b.setScheduledAt(LocalDateTime.of(2025, 11, 7, 10, 0));
+        b.setStatus(BookingStatus.CONFIRMED);
+        b.setPaymentStatus(PaymentStatus.PAID);
+        b.setPaymentRef("PAY-" + id);
+        b.setPaidAt(LocalDateTime.of(2025, 11, 1, 9, 30));
+        b.setAddress("12 Market Street");
+        b.setNotes("Ring twice");
+        b.setCreatedAt(LocalDateTime.of(2025, 11, 1, 9, 0));
+        return b;
+    }
+
+    static JwtUtil jwtUtil() {
+        JwtUtil jwt = new JwtUtil(new SimpleMeterRegistry());
+        set(jwt, "secret", "bench-only-secret-bench-only-secret-123456");
+        set(jwt, "expirationSeconds", 36000L);
+        return jwt;
+    }
+
+    private static void set(Object target, String field, Object value) {
+        try {
+            Field f = target.getClass().getDeclaredField(field);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
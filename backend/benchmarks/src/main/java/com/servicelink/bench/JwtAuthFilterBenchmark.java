@@ -0,0 +1,44 @@
+package com.servicelink.bench;
+
+import com.servicelink.security.JwtAuthFilter;
+import com.servicelink.security.JwtUtil;
+import com.servicelink.security.SecurityUserDetails;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/** Bearer header to authenticated security context, with the user lookup stubbed in memory. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private JwtAuthFilter filter;
+    private String header;
+
+    @Setup
+    public void setup() {
+        JwtUtil jwt = Fixtures.jwtUtil();
+        SecurityUserDetails details = new SecurityUserDetails(Fixtures.user(42));
+        filter = new JwtAuthFilter(jwt, username -> details);
+        header = "Bearer " + jwt.generateToken(details);
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings/provider");
+        request.addHeader("Authorization", header);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return auth;
+    }
+}
@@ -0,0 +1,47 @@
+package com.servicelink.bench;
+
+import com.servicelink.security.JwtUtil;
+import com.servicelink.security.SecurityUserDetails;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwt;
+    private SecurityUserDetails details;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwt = Fixtures.jwtUtil();
+        details = new SecurityUserDetails(Fixtures.user(42));
+        token = jwt.generateToken(details);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwt.generateToken(details);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwt.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwt.validateToken(token, details);
+    }
+
+    @Benchmark
+    public SecurityUserDetails securityUserDetails() {
+        return new SecurityUserDetails(details.getUser());
+    }
+}
@@ -0,0 +1,51 @@
+package com.servicelink.bench;
+
+import com.servicelink.controller.BookingController;
+import com.servicelink.dto.BookingDtos;
+import com.servicelink.dto.ListingDtos;
+import com.servicelink.mapper.ListingMapper;
+import com.servicelink.model.Booking;
+import com.servicelink.model.ServiceListing;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private ListingMapper listingMapper;
+    private ServiceListing listing;
+    private BookingController bookingController;
+    private MethodHandle bookingToDto;
+    private Booking booking;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        listingMapper = Mappers.getMapper(ListingMapper.class);
+        listing = Fixtures.listing(7);
+        // toDto only reads the booking, so the controller's collaborators are not needed
+        bookingController = new BookingController(null, null, null, null, null, null);
+        bookingToDto = MethodHandles.privateLookupIn(BookingController.class, MethodHandles.lookup())
+                .findVirtual(BookingController.class, "toDto", MethodType.methodType(BookingDtos.Response.class, Booking.class));
+        booking = Fixtures.booking(7);
+    }
+
+    @Benchmark
+    public ListingDtos.Response listingToDto() {
+        return listingMapper.toDto(listing);
+    }
+
+    @Benchmark
+    public BookingDtos.Response bookingToDto() throws Throwable {
+        return (BookingDtos.Response) bookingToDto.invoke(bookingController, booking);
+    }
+}
@@ -0,0 +1,46 @@
+package com.servicelink.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicelink.dto.ListingDtos;
+import com.servicelink.mapper.ListingMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** The listing search response body: a PageImpl of listing DTOs written the way MVC writes it. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private ObjectMapper json;
+    private PageImpl<ListingDtos.Response> page;
+
+    @Setup
+    public void setup() {
+        json = Jackson2ObjectMapperBuilder.json().build();
+        ListingMapper mapper = Mappers.getMapper(ListingMapper.class);
+        List<ListingDtos.Response> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(mapper.toDto(Fixtures.listing(i + 1)));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1000);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws Exception {
+        return json.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,41 @@
+package com.servicelink.bench;
+
+import com.servicelink.security.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Per-request cost of the limiter: one map lookup and one CAS, also under contention on a hot bucket. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private RateLimiter limiter;
+    private String[] clients;
+
+    @Setup
+    public void setup() {
+        // budgets large enough that every call takes the allow path
+        limiter = new RateLimiter(new SimpleMeterRegistry(), true, 100_000,
+                10, 0.2, 1_000_000, 1e9, 1_000_000, 1e9);
+        clients = new String[10_000];
+        for (int i = 0; i < clients.length; i++) clients[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+    }
+
+    @Benchmark
+    public long manyClients() {
+        return limiter.tryAcquire(RateLimiter.RouteClass.DEFAULT, clients[ThreadLocalRandom.current().nextInt(clients.length)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long oneHotClient() {
+        return limiter.tryAcquire(RateLimiter.RouteClass.SEARCH, "u:42");
+    }
+}
@@ -0,0 +1,89 @@
+package com.servicelink.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Command line options, all {@code --name=value}; see {@link #usage()}. */
+final class LoadConfig {
+
+    URI baseUrl = URI.create("http://localhost:8080");
+    double rate = 50;
+    boolean poisson = true;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(60);
+    Duration reportEvery = Duration.ofSeconds(5);
+    int maxInFlight = 2000;
+    int clientThreads = 8;
+    String customer = "customer@servicelink.local";
+    String provider = "provider1@servicelink.local";
+    String password = System.getenv().getOrDefault("DEMO_USER_PASSWORD", "password");
+    String label = "run";
+    String out = "target/loadtest";
+    long seed = 42;
+    final Map<String, Integer> mix = new LinkedHashMap<>(Map.of(
+            "browse", 45, "search", 25, "login", 5, "booking", 10, "messages", 15));
+
+    static LoadConfig parse(String[] args) {
+        LoadConfig c = new LoadConfig();
+        for (String arg : args) {
+            if (arg.equals("--help") || arg.equals("-h")) {
+                System.out.println(usage());
+                System.exit(0);
+            }
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "base-url" -> c.baseUrl = URI.create(value);
+                case "rate" -> c.rate = Double.parseDouble(value);
+                case "arrivals" -> c.poisson = switch (value) {
+                    case "poisson" -> true;
+                    case "constant" -> false;
+                    default -> throw new IllegalArgumentException("arrivals must be poisson or constant");
+                };
+                case "warmup" -> c.warmup = seconds(value);
+                case "duration" -> c.duration = seconds(value);
+                case "report-every" -> c.reportEvery = seconds(value);
+                case "max-in-flight" -> c.maxInFlight = Integer.parseInt(value);
+                case "client-threads" -> c.clientThreads = Integer.parseInt(value);
+                case "customer" -> c.customer = value;
+                case "provider" -> c.provider = value;
+                case "password" -> c.password = value;
+                case "label" -> c.label = value;
+                case "out" -> c.out = value;
+                case "seed" -> c.seed = Long.parseLong(value);
+                case "mix" -> {
+                    c.mix.clear();
+                    for (String part : value.split(",")) {
+                        String[] kv = part.split(":");
+                        c.mix.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown option --" + name + "\n" + usage());
+            }
+        }
+        if (c.rate <= 0) throw new IllegalArgumentException("rate must be positive");
+        return c;
+    }
+
+    private static Duration seconds(String value) {
+        return Duration.ofMillis((long) (Double.parseDouble(value.replaceAll("s$", "")) * 1000));
+    }
+
+    static String usage() {
+        return """
+                java -jar target/loadtest.jar [options]
+                  --base-url=http://localhost:8080   backend under test
+                  --rate=50                          target arrivals per second (open model)
+                  --arrivals=poisson|constant        inter-arrival distribution
+                  --warmup=10s --duration=60s        warm-up is excluded from the report
+                  --mix=browse:45,search:25,login:5,booking:10,messages:15
+                  --max-in-flight=2000               arrivals beyond this are counted as dropped
+                  --customer=... --provider=... --password=...   seeded demo accounts by default
+                  --label=run --out=target/loadtest  report files: <out>/<label>.json and <label>-<scenario>.hgrm
+                """;
+    }
+}
@@ -0,0 +1,197 @@
+package com.servicelink.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: arrivals follow a fixed schedule (constant or Poisson at
+ * {@code --rate}) regardless of how fast the server answers, and every latency is taken from
+ * the scheduled arrival time. A slow server therefore shows up as growing latency rather than
+ * as a generator that quietly backs off (coordinated omission). Arrivals refused at
+ * {@code --max-in-flight} are recorded as failures of their scenario once a slot frees up, so a
+ * saturated server cannot shed its worst latencies from the report by refusing work.
+ */
+public final class LoadTest {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private record Refused(String scenario, long intended) {}
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.parse(args);
+        ExecutorService clientPool = Executors.newFixedThreadPool(config.clientThreads);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientPool)
+                .build();
+        Scenarios scenarios = new Scenarios(config, http);
+        scenarios.setup();
+
+        List<String> names = new ArrayList<>(config.mix.keySet());
+        int[] cumulative = new int[names.size()];
+        int sum = 0;
+        for (int i = 0; i < names.size(); i++) cumulative[i] = sum += config.mix.get(names.get(i));
+        if (sum <= 0) throw new IllegalArgumentException("mix weights must add up to more than zero");
+
+        System.out.printf("Target %s at %.1f req/s (%s arrivals), warm-up %ds, measure %ds, mix %s%n",
+                config.baseUrl, config.rate, config.poisson ? "poisson" : "constant",
+                config.warmup.toSeconds(), config.duration.toSeconds(), config.mix);
+
+        Random random = new Random(config.seed);
+        Semaphore inFlight = new Semaphore(config.maxInFlight);
+        LongAdder dropped = new LongAdder();
+        Queue<Refused> refused = new ConcurrentLinkedQueue<>();
+        double meanGapNanos = 1e9 / config.rate;
+
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup.toNanos();
+        long end = measureFrom + config.duration.toNanos();
+        long nextReport = start + config.reportEvery.toNanos();
+        boolean measuring = false;
+        double next = start;
+        long arrivals = 0;
+
+        while (next < end) {
+            long intended = (long) next;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            if (!measuring && intended >= measureFrom) {
+                measuring = true;
+                // warm-up samples are swapped out and discarded
+                scenarios.stats().values().forEach(s -> {
+                    s.interval(false);
+                    s.resetCounters();
+                });
+                dropped.reset();
+                refused.clear();
+                arrivals = 0;
+            }
+
+            int pick = random.nextInt(sum);
+            int idx = 0;
+            while (cumulative[idx] <= pick) idx++;
+            arrivals++;
+            if (inFlight.tryAcquire()) {
+                scenarios.run(names.get(idx), intended).whenComplete((r, e) -> {
+                    inFlight.release();
+                    // a refused arrival could have started no earlier than now, when this slot freed up
+                    Refused waiting = refused.poll();
+                    if (waiting != null) scenarios.refused(waiting.scenario(), waiting.intended());
+                });
+            } else {
+                dropped.increment();
+                refused.add(new Refused(names.get(idx), intended));
+            }
+
+            next += config.poisson ? -Math.log(1 - random.nextDouble()) * meanGapNanos : meanGapNanos;
+            if (System.nanoTime() >= nextReport) {
+                printInterval(scenarios.stats(), measuring, (System.nanoTime() - start) / 1e9, dropped.sum());
+                nextReport += config.reportEvery.toNanos();
+            }
+        }
+
+        // let the requests still in flight finish (they keep their intended start times)
+        if (!inFlight.tryAcquire(config.maxInFlight, 35, TimeUnit.SECONDS)) {
+            System.err.println("Some requests were still in flight after 35s and are not in the report");
+        }
+        for (Refused r; (r = refused.poll()) != null; ) scenarios.refused(r.scenario(), r.intended());
+        scenarios.stats().values().forEach(s -> s.interval(true));
+        clientPool.shutdownNow();
+
+        double seconds = config.duration.toNanos() / 1e9;
+        printSummary(System.out, scenarios.stats(), seconds, arrivals, dropped.sum());
+        writeReports(config, scenarios.stats(), seconds, arrivals, dropped.sum());
+    }
+
+    private static void printInterval(Map<String, OperationStats> stats, boolean measuring, double elapsed, long dropped) {
+        StringBuilder line = new StringBuilder(String.format("[%6.1fs]%s", elapsed, measuring ? "" : " warm-up"));
+        for (OperationStats s : new TreeMap<>(stats).values()) {
+            Histogram h = s.interval(measuring);
+            if (h.getTotalCount() == 0) continue;
+            line.append(String.format("  %s n=%d p50=%.1fms p99=%.1fms", s.name, h.getTotalCount(),
+                    h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(99) / 1000.0));
+        }
+        if (dropped > 0) line.append("  dropped=").append(dropped);
+        System.out.println(line);
+    }
+
+    private static void printSummary(PrintStream out, Map<String, OperationStats> stats, double seconds, long arrivals, long dropped) {
+        out.printf("%nArrivals %d (%.1f/s), dropped at max-in-flight %d (counted as failures)%n", arrivals, arrivals / seconds, dropped);
+        out.printf("%-16s %8s %8s %6s %6s %6s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "req/s", "4xx", "5xx", "fail", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "p99.99 ms", "max ms");
+        for (OperationStats s : new TreeMap<>(stats).values()) {
+            Histogram h = s.total();
+            out.printf("%-16s %8d %8.1f %6d %6d %6d", s.name, h.getTotalCount(), h.getTotalCount() / seconds,
+                    s.clientErrors.sum(), s.serverErrors.sum(), s.failures.sum());
+            for (double p : PERCENTILES) out.printf(" %9.2f", h.getValueAtPercentile(p) / 1000.0);
+            out.printf(" %9.2f%n", h.getMaxValue() / 1000.0);
+        }
+    }
+
+    /** {@code <label>.json} summary plus one HdrHistogram percentile file per operation, for plotting and diffing. */
+    private static void writeReports(LoadConfig config, Map<String, OperationStats> stats, double seconds,
+                                     long arrivals, long dropped) throws IOException {
+        Path dir = Path.of(config.out);
+        Files.createDirectories(dir);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", config.label);
+        report.put("finishedAt", Instant.now().toString());
+        report.put("baseUrl", config.baseUrl.toString());
+        report.put("targetRate", config.rate);
+        report.put("arrivals", config.poisson ? "poisson" : "constant");
+        report.put("durationSeconds", seconds);
+        report.put("mix", config.mix);
+        report.put("offered", arrivals);
+        report.put("dropped", dropped);
+        Map<String, Object> operations = new TreeMap<>();
+        for (OperationStats s : stats.values()) {
+            Histogram h = s.total();
+            Map<String, Object> op = new LinkedHashMap<>();
+            op.put("count", h.getTotalCount());
+            op.put("throughput", h.getTotalCount() / seconds);
+            op.put("ok", s.ok.sum());
+            op.put("clientErrors", s.clientErrors.sum());
+            op.put("serverErrors", s.serverErrors.sum());
+            op.put("failures", s.failures.sum());
+            op.put("meanMs", h.getMean() / 1000.0);
+            Map<String, Double> pct = new LinkedHashMap<>();
+            for (double p : PERCENTILES) pct.put("p" + p, h.getValueAtPercentile(p) / 1000.0);
+            pct.put("max", h.getMaxValue() / 1000.0);
+            op.put("latencyMs", pct);
+            operations.put(s.name, op);
+
+            try (PrintStream hgrm = new PrintStream(dir.resolve(config.label + "-" + s.name + ".hgrm").toFile())) {
+                h.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        report.put("operations", operations);
+        Path json = dir.resolve(config.label + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), report);
+        System.out.println("\nReport written to " + json.toAbsolutePath());
+    }
+}
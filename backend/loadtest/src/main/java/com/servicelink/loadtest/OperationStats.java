@@ -0,0 +1,62 @@
+package com.servicelink.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counters of one named operation. Latencies are recorded in microseconds
+ * from the operation's <em>intended</em> start, so time spent queued behind a slow server (or
+ * a lagging generator) is counted instead of silently omitted.
+ */
+final class OperationStats {
+
+    private static final long MAX_TRACKABLE_US = TimeUnit.MINUTES.toMicros(5);
+
+    final String name;
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE_US, 3);
+    private final Histogram total = new Histogram(MAX_TRACKABLE_US, 3);
+    private Histogram interval;
+    final LongAdder ok = new LongAdder();
+    final LongAdder clientErrors = new LongAdder();
+    final LongAdder serverErrors = new LongAdder();
+    final LongAdder failures = new LongAdder();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    void record(long intendedStartNanos, int status) {
+        long us = Math.max(0, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos));
+        recorder.recordValue(Math.min(us, MAX_TRACKABLE_US));
+        if (status >= 500) serverErrors.increment();
+        else if (status >= 400) clientErrors.increment();
+        else ok.increment();
+    }
+
+    void failed(long intendedStartNanos) {
+        long us = Math.max(0, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos));
+        recorder.recordValue(Math.min(us, MAX_TRACKABLE_US));
+        failures.increment();
+    }
+
+    /** Swaps out the values recorded since the last call and adds them to the run total. */
+    synchronized Histogram interval(boolean keep) {
+        interval = recorder.getIntervalHistogram(interval);
+        if (keep) total.add(interval);
+        return interval;
+    }
+
+    synchronized Histogram total() {
+        return total;
+    }
+
+    void resetCounters() {
+        ok.reset();
+        clientErrors.reset();
+        serverErrors.reset();
+        failures.reset();
+    }
+}
@@ -0,0 +1,195 @@
+package com.servicelink.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * The traffic mix. Each arrival runs one scenario. Multi-step flows (booking) record each step
+ * under its own name and the whole flow under the scenario name; the first step and the flow
+ * are measured from the arrival's intended time, later steps from when they were sent.
+ */
+final class Scenarios {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadConfig config;
+    private final HttpClient http;
+    private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+
+    private String customerToken;
+    private String providerToken;
+    private final List<Long> providerListings = new ArrayList<>();
+    private final List<String> searchTerms = new ArrayList<>();
+    private Long messageBookingId;
+
+    Scenarios(LoadConfig config, HttpClient http) {
+        this.config = config;
+        this.http = http;
+    }
+
+    Map<String, OperationStats> stats() {
+        return stats;
+    }
+
+    private OperationStats op(String name) {
+        return stats.computeIfAbsent(name, OperationStats::new);
+    }
+
+    /** Logs in the seeded accounts and discovers listings to book and terms to search for. */
+    void setup() throws IOException, InterruptedException {
+        JsonNode customer = JSON.readTree(send(login("customer", config.customer)).body());
+        customerToken = customer.path("token").asText();
+        JsonNode provider = JSON.readTree(send(login("provider", config.provider)).body());
+        providerToken = provider.path("token").asText();
+        long providerId = provider.path("user").path("id").asLong();
+
+        for (JsonNode l : JSON.readTree(send(get("/api/listings?size=50", null)).body()).path("content")) {
+            String title = l.path("title").asText("");
+            if (!title.isBlank()) searchTerms.add(title.split("\\s+")[0].toLowerCase());
+            if (l.path("ownerId").asLong() == providerId) providerListings.add(l.path("id").asLong());
+        }
+        if (searchTerms.isEmpty()) searchTerms.add("clean");
+        if (providerListings.isEmpty()) {
+            System.err.println("No listings owned by " + config.provider + "; booking and messages scenarios are skipped");
+            config.mix.remove("booking");
+            config.mix.remove("messages");
+            return;
+        }
+        HttpResponse<String> created = send(createBooking(providerListings.get(0)));
+        messageBookingId = JSON.readTree(created.body()).path("id").asLong();
+        send(post("/api/bookings/" + messageBookingId + "/messages", customerToken, "{\"content\":\"load test thread\"}").build());
+    }
+
+    CompletableFuture<?> run(String scenario, long intended) {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        return switch (scenario) {
+            case "browse" -> call("browse", intended,
+                    get("/api/listings?page=" + r.nextInt(5) + "&size=12", null));
+            case "search" -> call("search", intended,
+                    get("/api/listings?size=12&q=" + encode(searchTerms.get(r.nextInt(searchTerms.size()))), null));
+            case "login" -> call("login", intended, login("customer", config.customer));
+            case "messages" -> call("messages", intended,
+                    get("/api/bookings/" + messageBookingId + "/messages/latest?since=0", customerToken));
+            case "booking" -> booking(intended, providerListings.get(r.nextInt(providerListings.size())));
+            default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+        };
+    }
+
+    private CompletableFuture<?> booking(long intended, long listingId) {
+        return call("booking.create", intended, createBooking(listingId))
+                .thenCompose(ifOk(created -> {
+                    String id = created.path("id").asText();
+                    long payStart = System.nanoTime();
+                    return call("booking.pay", payStart, post("/api/bookings/" + id + "/pay", customerToken, "")
+                            .header("Idempotency-Key", UUID.randomUUID().toString()).build());
+                }))
+                .thenCompose(ifOk(paid -> {
+                    long statusStart = System.nanoTime();
+                    return call("booking.status", statusStart,
+                            patch("/api/bookings/" + paid.path("id").asText() + "/status", providerToken, "{\"status\":\"CONFIRMED\"}"));
+                }))
+                .whenComplete((last, error) -> {
+                    if (error == null && last != null && last.statusCode() < 400) op("booking").record(intended, last.statusCode());
+                    else op("booking").failed(intended);
+                });
+    }
+
+    /** An arrival refused at max-in-flight: a failure of its scenario, timed from its intended start until now. */
+    void refused(String scenario, long intended) {
+        op(scenario).failed(intended);
+    }
+
+    private static Function<HttpResponse<String>, CompletableFuture<HttpResponse<String>>> ifOk(
+            Function<JsonNode, CompletableFuture<HttpResponse<String>>> next) {
+        return response -> {
+            if (response == null || response.statusCode() >= 400) return CompletableFuture.completedFuture(response);
+            try {
+                return next.apply(JSON.readTree(response.body()));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        };
+    }
+
+    /** Sends asynchronously and records the step from {@code stepStart}; failures complete with null. */
+    private CompletableFuture<HttpResponse<String>> call(String name, long stepStart, HttpRequest request) {
+        OperationStats s = op(name);
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    if (error != null) s.failed(stepStart);
+                    else s.record(stepStart, response.statusCode());
+                })
+                .exceptionally(error -> null);
+    }
+
+    private HttpRequest createBooking(long listingId) {
+        Random r = ThreadLocalRandom.current();
+        LocalDateTime at = LocalDateTime.now().plusDays(1 + r.nextInt(60)).truncatedTo(ChronoUnit.HOURS)
+                .withHour(8 + r.nextInt(10)).withMinute(r.nextInt(4) * 15);
+        String body = "{\"listingId\":" + listingId + ",\"scheduledAt\":\"" + at + "\",\"address\":\"1 Load Test Way\"}";
+        return post("/api/bookings", customerToken, body)
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .build();
+    }
+
+    private HttpRequest login(String kind, String identifier) {
+        String body = "{\"identifier\":\"" + identifier + "\",\"password\":\"" + config.password + "\"}";
+        return post("/api/auth/" + kind + "/login", null, body).build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest.Builder post(String path, String token, String json) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private HttpRequest patch(String path, String token, String json) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(config.baseUrl + path)).timeout(TIMEOUT);
+        if (token != null) b.header("Authorization", "Bearer " + token);
+        return b;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IOException(request.method() + " " + request.uri() + " -> " + response.statusCode() + " " + response.body());
+        }
+        return response;
+    }
+
+    private static String encode(String s) {
+        return URLEncoder.encode(s, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,113 @@
+package com.servicelink.reactive;
+
+import com.servicelink.dto.ListingDtos;
+import com.servicelink.mapper.ListingMapper;
+import com.servicelink.model.ListingRating;
+import com.servicelink.model.ServiceCategory;
+import com.servicelink.model.ServiceListing;
+import com.servicelink.repository.ListingSearchCriteria;
+import com.servicelink.service.ListingRatingService;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * Handlers for the public reads. Listings are read as raw documents, queried with the entity's
+ * mapping, so the embedded rating aggregate comes back with the listing instead of from a
+ * second query. With {@code Accept: application/x-ndjson} the listings of a page are streamed
+ * one per line as the cursor delivers them, at the pace the client reads; plain JSON returns
+ * the same page envelope as the servlet endpoint.
+ */
+@Component
+public class ListingReadHandler {
+
+    private final ReactiveMongoTemplate mongo;
+    private final ListingMapper mapper;
+    private final int maxPageSize;
+
+    public ListingReadHandler(ReactiveMongoTemplate mongo, ListingMapper mapper,
+                              @Value("${app.reads.max-page-size:100}") int maxPageSize) {
+        this.mongo = mongo;
+        this.mapper = mapper;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public Mono<ServerResponse> listings(ServerRequest request) {
+        // deferred so parameter errors reach the route's onError as signals
+        return Mono.defer(() -> search(request));
+    }
+
+    private Mono<ServerResponse> search(ServerRequest request) {
+        int page = param(request, "page", Integer::parseInt, 0);
+        int size = param(request, "size", Integer::parseInt, 10);
+        if (size > maxPageSize) throw new IllegalArgumentException("size must be at most " + maxPageSize);
+        Pageable pageable = PageRequest.of(page, size, ListingSearchCriteria.sort(request.queryParam("sort").orElse(null)));
+        Criteria criteria = ListingSearchCriteria.of(
+                request.queryParam("q").orElse(null),
+                param(request, "categoryId", Long::valueOf, null),
+                param(request, "minPrice", BigDecimal::new, null),
+                param(request, "maxPrice", BigDecimal::new, null),
+                param(request, "ownerId", Long::valueOf, null));
+
+        Flux<ListingDtos.Response> content = mongo.query(ServiceListing.class).as(Document.class)
+                .matching(new Query(criteria).with(pageable))
+                .all()
+                .map(this::toDto);
+        if (request.headers().accept().contains(MediaType.APPLICATION_NDJSON)) {
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(content, ListingDtos.Response.class);
+        }
+        return Mono.zip(content.collectList(), mongo.count(new Query(criteria), ServiceListing.class))
+                .flatMap(t -> ServerResponse.ok().bodyValue(new PageImpl<>(t.getT1(), pageable, t.getT2())));
+    }
+
+    public Mono<ServerResponse> listing(ServerRequest request) {
+        return Mono.fromCallable(() -> Long.valueOf(request.pathVariable("id")))
+                .flatMap(id -> mongo.query(ServiceListing.class).as(Document.class)
+                        .matching(Query.query(Criteria.where("id").is(id)))
+                        .first())
+                .flatMap(doc -> ServerResponse.ok().bodyValue(toDto(doc)))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> categories(ServerRequest request) {
+        return ServerResponse.ok().body(mongo.findAll(ServiceCategory.class), ServiceCategory.class);
+    }
+
+    private ListingDtos.Response toDto(Document doc) {
+        ListingDtos.Response dto = mapper.toDto(mongo.getConverter().read(ServiceListing.class, doc));
+        Document rating = doc.get(ListingRatingService.FIELD, Document.class);
+        if (rating != null) {
+            ListingRating r = mongo.getConverter().read(ListingRating.class, rating);
+            if (r.getCount() > 0) {
+                dto.ratingAverage = r.getAvg();
+                dto.ratingCount = r.getCount();
+                dto.ratingHistogram = r.histogram();
+            }
+        }
+        return dto;
+    }
+
+    private static <T> T param(ServerRequest request, String name, Function<String, T> parse, T fallback) {
+        return request.queryParam(name).filter(v -> !v.isBlank()).map(v -> {
+            try {
+                return parse.apply(v);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid parameter '" + name + "'");
+            }
+        }).orElse(fallback);
+    }
+}
@@ -0,0 +1,24 @@
+package com.servicelink.reactive;
+
+import com.servicelink.mapper.ListingMapper;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.ComponentScan;
+
+/**
+ * Read-only service for the anonymous listing and category endpoints, on WebFlux and the
+ * reactive Mongo driver. It serves the same paths and JSON as the servlet backend, so a proxy
+ * can send unauthenticated {@code GET /api/listings/**} and {@code /api/categories} here.
+ * Settings live in {@code reactive.yml} so the backend jar's own application config is ignored.
+ */
+@SpringBootApplication
+@ComponentScan(basePackageClasses = {ReactiveReadApplication.class, ListingMapper.class})
+public class ReactiveReadApplication {
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveReadApplication.class)
+				.properties("spring.config.name=reactive")
+				.run(args);
+	}
+
+}
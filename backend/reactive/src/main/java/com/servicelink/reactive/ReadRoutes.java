@@ -0,0 +1,45 @@
+package com.servicelink.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.Map;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class ReadRoutes {
+
+    @Bean
+    RouterFunction<ServerResponse> routes(ListingReadHandler handler) {
+        return route()
+                .GET("/api/listings", handler::listings)
+                .GET("/api/listings/{id}", handler::listing)
+                .GET("/api/categories", handler::categories)
+                // same body as the servlet GlobalExceptionHandler
+                .onError(IllegalArgumentException.class, (e, request) ->
+                        ServerResponse.badRequest().bodyValue(Map.of("message", String.valueOf(e.getMessage()))))
+                .build();
+    }
+
+    @Bean
+    CorsWebFilter corsWebFilter(@Value("${app.cors.allowed-origins}") String allowedOrigins) {
+        CorsConfiguration config = new CorsConfiguration();
+        for (String origin : allowedOrigins.split(",")) {
+            config.addAllowedOrigin(origin.trim());
+        }
+        config.setAllowCredentials(true);
+        config.addAllowedHeader(CorsConfiguration.ALL);
+        config.addAllowedMethod("GET");
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", config);
+        return new CorsWebFilter(source);
+    }
+}
@@ -11,20 +11,40 @@ import com.servicelink.repository.ServiceListingRepository;
 import com.servicelink.repository.UserRepository;
 import com.servicelink.repository.BookingRepository;
 import com.servicelink.service.SequenceGeneratorService;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 
 @Configuration
 public class DataSeeder {
 
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    private final MongoTemplate mongo;
+
+    public DataSeeder(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
     @SuppressWarnings("null") // seed lists are constructed in-code and non-null; suppress null-safety noise on saveAll
     @Bean
     CommandLineRunner initData(UserRepository userRepo,
@@ -44,9 +64,9 @@ public class DataSeeder {
                 userRepo.deleteAll();
             }
 
-            if (!reseed && (userRepo.count() > 0 || catRepo.count() > 0 || listRepo.count() > 0 || bookingRepo.count() > 0)) {
-                backfillBookingProviders(bookingRepo);
-                syncSequences(seq, userRepo, catRepo, listRepo, bookingRepo);
+            if (!reseed && (mongo.exists(new Query(), User.class) || mongo.exists(new Query(), ServiceCategory.class)
+                    || mongo.exists(new Query(), ServiceListing.class) || mongo.exists(new Query(), Booking.class))) {
+                syncSequences(seq, mongo);
                 return; // database already has data, skip demo seeding
             }
 
@@ -177,9 +197,8 @@ public class DataSeeder {
                 bookingRepo.saveAll(List.of(b1, b2, b3));
             }
 
-            backfillBookingProviders(bookingRepo);
             // After seeding, align sequences to the current max ids to avoid duplicate key errors on restart
-            syncSequences(seq, userRepo, catRepo, listRepo, bookingRepo);
+            syncSequences(seq, mongo);
 
             // NOTE: Availability, bookings, and reviews models/repositories
             // are not wired here because their types are not shown in this
@@ -187,34 +206,37 @@ public class DataSeeder {
         };
     }
 
-    private void syncSequences(SequenceGeneratorService seq,
-                               UserRepository userRepo,
-                               ServiceCategoryRepository catRepo,
-                               ServiceListingRepository listRepo,
-                               BookingRepository bookingRepo) {
-        seq.initialize("users", maxId(userRepo.findAll().stream().map(User::getId).filter(Objects::nonNull).toList()));
-        seq.initialize("categories", maxId(catRepo.findAll().stream().map(ServiceCategory::getId).filter(Objects::nonNull).toList()));
-        seq.initialize("listings", maxId(listRepo.findAll().stream().map(ServiceListing::getId).filter(Objects::nonNull).toList()));
-        seq.initialize("bookings", maxId(bookingRepo.findAll().stream().map(Booking::getId).filter(Objects::nonNull).toList()));
+    /** One indexed lookup per collection: the highest _id, not a scan of every document. */
+    private void syncSequences(SequenceGeneratorService seq, MongoTemplate mongo) {
+        seq.initialize("users", maxId(mongo, User.class));
+        seq.initialize("categories", maxId(mongo, ServiceCategory.class));
+        seq.initialize("listings", maxId(mongo, ServiceListing.class));
+        seq.initialize("bookings", maxId(mongo, Booking.class));
     }
 
-    private long maxId(List<Long> ids) {
-        return ids.stream().mapToLong(Long::longValue).max().orElse(0L);
+    private long maxId(MongoTemplate mongo, Class<?> type) {
+        Query q = new Query().with(Sort.by(Sort.Direction.DESC, "_id")).limit(1);
+        q.fields().include("_id");
+        Document top = mongo.findOne(q, Document.class, mongo.getCollectionName(type));
+        return top != null && top.get("_id") instanceof Number n ? n.longValue() : 0L;
     }
 
     /**
      * Ensure bookings have provider id and payment status populated so participant checks work.
+     * Two server-side updates that only touch legacy rows; runs after startup so it never delays readiness.
      */
-    private void backfillBookingProviders(BookingRepository bookingRepo) {
-        bookingRepo.findAll().forEach(b -> {
-            if (b.getProviderId() == null && b.getListing() != null && b.getListing().getOwner() != null) {
-                b.setProviderId(b.getListing().getOwner().getId());
-            }
-            if (b.getPaymentStatus() == null) {
-                b.setPaymentStatus(PaymentStatus.UNPAID);
-            }
-        });
-        bookingRepo.saveAll(bookingRepo.findAll());
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillBookingProviders() {
+        long providers = mongo.updateMulti(
+                new Query(Criteria.where("providerId").is(null).and("listing.owner.id").ne(null)),
+                AggregationUpdate.update().set("providerId").toValueOf(Fields.field("listing.owner._id")),
+                Booking.class).getModifiedCount();
+        long payments = mongo.updateMulti(new Query(Criteria.where("paymentStatus").is(null)),
+                Update.update("paymentStatus", PaymentStatus.UNPAID), Booking.class).getModifiedCount();
+        if (providers + payments > 0) {
+            log.info("Backfilled provider id on {} and payment status on {} bookings", providers, payments);
+        }
     }
 
     private ServiceListing createListing(SequenceGeneratorService seq,
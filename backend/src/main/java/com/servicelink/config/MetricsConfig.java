@@ -0,0 +1,70 @@
+package com.servicelink.config;
+
+import com.servicelink.service.BookingArchiveService;
+import com.servicelink.service.SequenceGeneratorService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timings that the actuator does not record on its own. Controllers ({@code http.server.requests}),
+ * repository methods ({@code spring.data.repository.invocations}) and the Mongo driver pool and
+ * commands ({@code mongodb.driver.*}) are auto-instrumented; this adds sequence allocation and the
+ * hot/archive working-set sizes.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    static BeanPostProcessor sequenceTimingPostProcessor(ObjectProvider<MeterRegistry> meters) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof SequenceGeneratorService)) return bean;
+                Map<Object, Timer> timers = new ConcurrentHashMap<>();
+                ProxyFactory proxy = new ProxyFactory(bean);
+                proxy.setProxyTargetClass(true);
+                proxy.addAdvice((MethodInterceptor) invocation -> {
+                    if (!"generateSequence".equals(invocation.getMethod().getName())) return invocation.proceed();
+                    Timer.Sample sample = Timer.start();
+                    try {
+                        return invocation.proceed();
+                    } finally {
+                        sample.stop(timers.computeIfAbsent(invocation.getArguments()[0], name ->
+                                Timer.builder("servicelink.sequence.allocate")
+                                        .tag("sequence", String.valueOf(name))
+                                        .register(meters.getObject())));
+                    }
+                });
+                return proxy.getProxy();
+            }
+        };
+    }
+
+    /** Document counts of each hot collection and its archive, read from metadata on every scrape. */
+    @Bean
+    MeterBinder workingSetGauges(BookingArchiveService archive) {
+        return registry -> archive.archiveCollections().forEach((hot, cold) -> {
+            workingSetGauge(registry, archive, hot, hot, "hot");
+            workingSetGauge(registry, archive, cold, hot, "archive");
+        });
+    }
+
+    private static void workingSetGauge(MeterRegistry registry, BookingArchiveService archive, String collection, String set, String tier) {
+        Gauge.builder("servicelink.working_set.documents", archive, a -> a.estimatedCount(collection))
+                .description("Estimated documents in a hot collection or its archive")
+                .tag("set", set)
+                .tag("tier", tier)
+                .register(registry);
+    }
+}
@@ -24,6 +24,8 @@ public class MongoConfig {
         config.setAllowCredentials(true);
         config.addAllowedHeader(CorsConfiguration.ALL);
         config.addAllowedMethod(CorsConfiguration.ALL);
+        config.addExposedHeader("X-Has-More");
+        config.addExposedHeader("X-Causal-Token");
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
@@ -0,0 +1,95 @@
+package com.servicelink.config;
+
+import com.servicelink.model.Booking;
+import com.servicelink.model.Message;
+import com.servicelink.model.Review;
+import com.servicelink.model.ServiceListing;
+import com.servicelink.model.User;
+import com.servicelink.service.ListingRatingService;
+import com.servicelink.service.BookingArchiveService;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.util.List;
+
+/**
+ * Secondary indexes on existing collections that the query paths rely on.
+ * Documents owned by newer code declare theirs with {@code @Indexed} instead.
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    @Bean
+    CommandLineRunner ensureIndexes(MongoTemplate mongo) {
+        return args -> {
+            // archiver scan: terminal bookings ordered by age
+            mongo.indexOps(Booking.class).createIndex(new Index()
+                    .on("status", Sort.Direction.ASC)
+                    .on("scheduledAt", Sort.Direction.ASC)
+                    .named("status_scheduledAt"));
+
+            // listing search sorted by rating
+            mongo.indexOps(ServiceListing.class).createIndex(new Index()
+                    .on(ListingRatingService.FIELD + ".avg", Sort.Direction.DESC)
+                    .on(ListingRatingService.FIELD + ".count", Sort.Direction.DESC)
+                    .named("rating_avg_count"));
+
+            // review eligibility: completed bookings of a customer for a listing, anti-joined on reviews.bookingId
+            mongo.indexOps(Booking.class).createIndex(new Index()
+                    .on("customer.id", Sort.Direction.ASC)
+                    .on("listing.id", Sort.Direction.ASC)
+                    .on("status", Sort.Direction.ASC)
+                    .named("customer_listing_status"));
+            mongo.indexOps(mongo.getCollectionName(Review.class)).createIndex(new Index()
+                    .on("bookingId", Sort.Direction.ASC)
+                    .named("bookingId"));
+            // ... and on the stored booking reference, for reviews the snapshot backfill has not reached
+            mongo.indexOps(Review.class).createIndex(new Index()
+                    .on("booking.id", Sort.Direction.ASC)
+                    .named("booking_id"));
+
+            // message history keyset pagination, hot and archived
+            Index messageHistory = new Index()
+                    .on("booking.id", Sort.Direction.ASC)
+                    .on("sentAt", Sort.Direction.ASC)
+                    .on("id", Sort.Direction.ASC)
+                    .named("booking_sentAt_id");
+            mongo.indexOps(Message.class).createIndex(messageHistory);
+            mongo.indexOps(BookingArchiveService.MESSAGES_ARCHIVE, Message.class).createIndex(messageHistory);
+
+            // review feed: snapshot listingId, newest first
+            Index reviewFeed = new Index()
+                    .on("listingId", Sort.Direction.ASC)
+                    .on("createdAt", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named("listingId_createdAt_id");
+            mongo.indexOps(mongo.getCollectionName(Review.class)).createIndex(reviewFeed);
+            mongo.indexOps(BookingArchiveService.REVIEWS_ARCHIVE).createIndex(reviewFeed);
+
+            // a participant's archived bookings, continuing their booking lists
+            for (String participant : List.of("customer.id", "providerId", "listing.owner.id")) {
+                mongo.indexOps(BookingArchiveService.BOOKINGS_ARCHIVE, Booking.class).createIndex(new Index()
+                        .on(participant, Sort.Direction.ASC)
+                        .on("scheduledAt", Sort.Direction.DESC)
+                        .named(participant.replace('.', '_') + "_scheduledAt"));
+            }
+
+            // archive reads look reviews up by booking id
+            mongo.indexOps(BookingArchiveService.REVIEWS_ARCHIVE, Review.class).createIndex(new Index()
+                    .on("booking.id", Sort.Direction.ASC)
+                    .named("booking_id"));
+
+            // admin user search: anchored prefix ranges over the lower-cased copies, in keyset order
+            for (String field : List.of("nameLc", "emailLc", "usernameLc")) {
+                mongo.indexOps(User.class).createIndex(new Index()
+                        .on(field, Sort.Direction.ASC)
+                        .on("_id", Sort.Direction.ASC)
+                        .named(field + "_id"));
+            }
+        };
+    }
+}
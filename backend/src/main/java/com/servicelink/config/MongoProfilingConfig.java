@@ -0,0 +1,67 @@
+package com.servicelink.config;
+
+import com.servicelink.service.MongoQueryProfiler;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Hooks {@link MongoQueryProfiler} into the driver and opens one profile per HTTP request,
+ * ahead of the security chain so the user lookup behind JWT authentication is counted too.
+ */
+@Configuration
+public class MongoProfilingConfig {
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer mongoProfilerListener(MongoQueryProfiler profiler) {
+        return builder -> builder.addCommandListener(profiler);
+    }
+
+    @Bean
+    FilterRegistrationBean<OncePerRequestFilter> mongoProfilingFilter(MongoQueryProfiler profiler, MeterRegistry meters) {
+        DistributionSummary perRequest = DistributionSummary.builder("servicelink.request.db.commands")
+                .description("Mongo commands issued per HTTP request")
+                .register(meters);
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+                return !profiler.isEnabled();
+            }
+
+            @Override
+            protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                            @NonNull FilterChain chain) throws ServletException, IOException {
+                long start = System.nanoTime();
+                MongoQueryProfiler.Profile p = profiler.begin(request.getMethod() + " " + request.getRequestURI());
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    p.close();
+                    Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    String label = route == null ? p.label() : request.getMethod() + " " + route;
+                    perRequest.record(p.commandCount());
+                    // SSE and streamed exports go async and keep running after this returns: their wall time
+                    // is not the request's, so only their queries are checked
+                    long elapsedMs = request.isAsyncStarted() ? 0 : (System.nanoTime() - start) / 1_000_000;
+                    profiler.report(p, label, elapsedMs);
+                }
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,17 @@
+package com.servicelink.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Escape hatch from {@link SecondaryReads}: the reads inside {@link #get} go to the primary. Used
+ * where a result outlives the request (node caches), so replica lag cannot be kept around.
+ */
+public final class PrimaryReads {
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T get(Supplier<T> read) {
+        return ReadRoutingMongoDatabaseFactory.onPrimary(read);
+    }
+}
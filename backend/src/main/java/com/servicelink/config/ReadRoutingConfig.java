@@ -0,0 +1,139 @@
+package com.servicelink.config;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.bson.BsonTimestamp;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read routing for replica sets. Handlers marked {@link SecondaryReads} run their queries with
+ * {@code app.reads.routing.read-preference}; every other read stays on the primary. Those
+ * handlers and all mutating requests run in a causally consistent session, and their responses
+ * carry the session's operation time in {@value #TOKEN_HEADER}. A client sends the highest token
+ * it holds back on later requests; the session is advanced to it, so a secondary answers only
+ * once it has applied that write (readConcern afterClusterTime) and a provider sees a listing
+ * right after creating it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reads.routing.enabled", havingValue = "true")
+public class ReadRoutingConfig implements WebMvcConfigurer {
+
+    public static final String TOKEN_HEADER = "X-Causal-Token";
+
+    private static final ClientSessionOptions CAUSAL = ClientSessionOptions.builder().causallyConsistent(true).build();
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final MongoDatabaseFactory factory;
+    private final ReadPreference secondaryReads;
+
+    public ReadRoutingConfig(MongoDatabaseFactory factory,
+                             @Value("${app.reads.routing.read-preference:secondaryPreferred}") String readPreference,
+                             @Value("${app.reads.routing.max-staleness-seconds:0}") long maxStalenessSeconds) {
+        this.factory = factory;
+        this.secondaryReads = maxStalenessSeconds > 0
+                ? ReadPreference.valueOf(readPreference, List.of(), maxStalenessSeconds, TimeUnit.SECONDS)
+                : ReadPreference.valueOf(readPreference);
+    }
+
+    @Bean
+    static BeanPostProcessor readRoutingFactoryPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                return bean instanceof MongoDatabaseFactory f && !(bean instanceof ReadRoutingMongoDatabaseFactory)
+                        ? new ReadRoutingMongoDatabaseFactory(f)
+                        : bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AsyncHandlerInterceptor() {
+            @Override
+            public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+                if (request.getDispatcherType() != DispatcherType.REQUEST) return true;
+                boolean secondary = "GET".equals(request.getMethod())
+                        && handler instanceof HandlerMethod m && m.hasMethodAnnotation(SecondaryReads.class);
+                if (!secondary && SAFE_METHODS.contains(request.getMethod())) return true;
+                ClientSession session = factory.getSession(CAUSAL);
+                BsonTimestamp after = parseToken(request.getHeader(TOKEN_HEADER));
+                if (after != null) session.advanceOperationTime(after);
+                ReadRoutingMongoDatabaseFactory.bind(session, secondary ? secondaryReads : ReadPreference.primary());
+                return true;
+            }
+
+            @Override
+            public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+                // async work continues on other threads without the request's session
+                ReadRoutingMongoDatabaseFactory.release();
+            }
+
+            @Override
+            public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
+                ReadRoutingMongoDatabaseFactory.release();
+            }
+        }).addPathPatterns("/api/**");
+    }
+
+    @Bean
+    CausalTokenAdvice causalTokenAdvice() {
+        return new CausalTokenAdvice();
+    }
+
+    /** Writes the session's operation time on responses while the handler's session is still bound. */
+    @ControllerAdvice
+    static class CausalTokenAdvice implements ResponseBodyAdvice<Object> {
+
+        @Override
+        public boolean supports(@NonNull MethodParameter returnType, @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType, @NonNull MediaType contentType,
+                                      @NonNull Class<? extends HttpMessageConverter<?>> converterType,
+                                      @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+            ClientSession session = ReadRoutingMongoDatabaseFactory.currentSession();
+            if (session != null && session.getOperationTime() != null) {
+                response.getHeaders().set(TOKEN_HEADER, Long.toUnsignedString(session.getOperationTime().getValue()));
+            }
+            return body;
+        }
+    }
+
+    /** Tokens are opaque to clients; a malformed one is ignored rather than failing the request. */
+    private static BsonTimestamp parseToken(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            return new BsonTimestamp(Long.parseUnsignedLong(token.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
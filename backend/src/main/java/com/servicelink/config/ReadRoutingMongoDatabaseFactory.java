@@ -0,0 +1,94 @@
+package com.servicelink.config;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * Hands out databases bound to the current request's causally consistent session and read
+ * preference, when one is bound to the thread; otherwise behaves exactly like the wrapped
+ * factory. Transactions keep using the wrapped factory's own session binding.
+ */
+final class ReadRoutingMongoDatabaseFactory implements MongoDatabaseFactory {
+
+    private record Route(ClientSession session, ReadPreference readPreference) {
+    }
+
+    private static final ThreadLocal<Route> CURRENT = new ThreadLocal<>();
+
+    private final MongoDatabaseFactory delegate;
+
+    ReadRoutingMongoDatabaseFactory(MongoDatabaseFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    static void bind(ClientSession session, ReadPreference readPreference) {
+        CURRENT.set(new Route(session, readPreference));
+    }
+
+    static ClientSession currentSession() {
+        Route route = CURRENT.get();
+        return route == null ? null : route.session();
+    }
+
+    /** Runs {@code read} against the primary, keeping the request's session when one is bound. */
+    static <T> T onPrimary(Supplier<T> read) {
+        Route route = CURRENT.get();
+        if (route == null || route.readPreference().equals(ReadPreference.primary())) return read.get();
+        CURRENT.set(new Route(route.session(), ReadPreference.primary()));
+        try {
+            return read.get();
+        } finally {
+            CURRENT.set(route);
+        }
+    }
+
+    /** Unbinds and closes the current request's session, if any. */
+    static void release() {
+        Route route = CURRENT.get();
+        if (route == null) return;
+        CURRENT.remove();
+        route.session().close();
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase() throws DataAccessException {
+        Route route = CURRENT.get();
+        if (route == null) return delegate.getMongoDatabase();
+        return delegate.withSession(route.session()).getMongoDatabase().withReadPreference(route.readPreference());
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName) throws DataAccessException {
+        Route route = CURRENT.get();
+        if (route == null) return delegate.getMongoDatabase(dbName);
+        return delegate.withSession(route.session()).getMongoDatabase(dbName).withReadPreference(route.readPreference());
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return delegate.getExceptionTranslator();
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry() {
+        return delegate.getCodecRegistry();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options) {
+        return delegate.getSession(options);
+    }
+
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session) {
+        return delegate.withSession(session);
+    }
+}
@@ -0,0 +1,15 @@
+package com.servicelink.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Startup backfills run {@code @Async} on the application task executor so they never hold back
+ * readiness. Class proxies, because some of those services also implement Mongo save callbacks.
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync(proxyTargetClass = true)
+public class SchedulingConfig {
+}
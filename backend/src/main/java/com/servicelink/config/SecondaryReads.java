@@ -0,0 +1,17 @@
+package com.servicelink.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose queries may be answered by a replica-set secondary when read
+ * routing is enabled; see {@link ReadRoutingConfig}. Only put it on handlers that do not write.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SecondaryReads {
+}
@@ -2,8 +2,13 @@ package com.servicelink.config;
 
 import com.servicelink.security.JwtAuthFilter;
 import com.servicelink.security.JwtUtil;
+import com.servicelink.security.RateLimitFilter;
+import com.servicelink.security.RateLimiter;
+import com.servicelink.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -33,12 +38,14 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthFilter jwtAuthFilter) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthFilter jwtAuthFilter, RateLimiter rateLimiter) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> {})
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // async dispatches of SSE streams were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/v3/api-docs/**",
@@ -46,6 +53,10 @@ public class SecurityConfig {
                                 "/swagger-ui.html",
                                 "/h2-console/**"
                         ).permitAll()
+                        .requestMatchers("/livez", "/readyz", "/actuator/health/**").permitAll()
+                        // only served on management.server.port, which is not exposed publicly
+                        .requestMatchers("/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/listings/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/providers/{providerId}/availability").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/providers/*/availability").permitAll()
@@ -54,7 +65,9 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .headers(headers -> headers.frameOptions(frame -> frame.disable()))
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // after JWT so signed-in clients are limited by user id; not a bean, so it only runs in this chain
+                .addFilterAfter(new RateLimitFilter(rateLimiter), JwtAuthFilter.class);
         return http.build();
     }
 
@@ -64,7 +77,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meters) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meters);
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.servicelink.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Arrays;
+
+/**
+ * Rules for {@code spring.main.lazy-initialization} (the {@code faststart} profile). Everything
+ * else is created on first use; beans with {@code @Scheduled} methods stay eager, because the
+ * scheduler only finds those methods on beans that already exist.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansStayEager() {
+        return (beanName, definition, beanType) -> beanType != null
+                && Arrays.stream(ReflectionUtils.getUniqueDeclaredMethods(beanType))
+                        .anyMatch(m -> AnnotatedElementUtils.hasAnnotation(m, Scheduled.class));
+    }
+}
@@ -0,0 +1,54 @@
+package com.servicelink.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Logs and records how long after JVM start the app became ready and served its first request.
+ * Boot's {@code application.started.time}/{@code application.ready.time} only cover the Spring
+ * part; these include JVM boot and class loading, which CDS and AOT are meant to cut.
+ */
+@Component
+public class StartupTimings {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimings.class);
+
+    private final MeterRegistry meters;
+    private final AtomicBoolean firstRequest = new AtomicBoolean();
+
+    public StartupTimings(MeterRegistry meters) {
+        this.meters = meters;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ready(ApplicationReadyEvent event) {
+        long sinceJvmStart = ManagementFactory.getRuntimeMXBean().getUptime();
+        record("servicelink.startup.ready", sinceJvmStart);
+        log.info("Ready {} ms after JVM start ({} ms in Spring)", sinceJvmStart, event.getTimeTaken().toMillis());
+    }
+
+    @EventListener(ServletRequestHandledEvent.class)
+    public void requestHandled(ServletRequestHandledEvent event) {
+        if (firstRequest.get() || !firstRequest.compareAndSet(false, true)) return;
+        long sinceJvmStart = ManagementFactory.getRuntimeMXBean().getUptime();
+        record("servicelink.startup.first.request", sinceJvmStart);
+        log.info("First request ({} {} -> {}) served {} ms after JVM start",
+                event.getMethod(), event.getRequestUrl(), event.getStatusCode(), sinceJvmStart);
+    }
+
+    private void record(String name, long millis) {
+        TimeGauge.builder(name, () -> millis, TimeUnit.MILLISECONDS)
+                .description("Time from JVM start")
+                .register(meters);
+    }
+}
@@ -0,0 +1,81 @@
+package com.servicelink.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Watches for virtual threads that block while pinned to their carrier (a {@code synchronized}
+ * block or native frame around blocking I/O), which quietly turns the carrier pool back into a
+ * small fixed thread pool. Every pinned park longer than {@code app.vthreads.pinned-threshold}
+ * counts towards {@code servicelink.vthreads.pinned}; each distinct call site is logged once
+ * with its stack.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final int MAX_SITES = 200;
+
+    private final Counter pinned;
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+    private final Duration threshold;
+    private final int stackDepth;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meters,
+                                       @Value("${app.vthreads.pinned-threshold:20ms}") Duration threshold,
+                                       @Value("${app.vthreads.stack-depth:12}") int stackDepth) {
+        this.pinned = Counter.builder("servicelink.vthreads.pinned")
+                .description("Virtual threads that blocked while pinned to a carrier thread")
+                .register(meters);
+        this.threshold = threshold;
+        this.stackDepth = stackDepth;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+        log.info("Virtual threads enabled; reporting pinned parks over {}ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        if (event.getStackTrace() == null || seen.size() >= MAX_SITES) return;
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        String stack = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .limit(stackDepth)
+                .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+                .collect(Collectors.joining("\n\tat "));
+        if (seen.add(stack)) {
+            log.warn("Virtual thread pinned for {}ms at\n\tat {}", event.getDuration().toMillis(), stack);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.servicelink.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factory for the services' own background executors. Follows
+ * {@code spring.threads.virtual.enabled}, the same switch that moves Tomcat, MVC async
+ * and {@code @Scheduled} work onto virtual threads.
+ */
+@Component
+public class WorkerThreads {
+
+    private final boolean virtual;
+
+    public WorkerThreads(@Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public ThreadFactory named(String name) {
+        if (virtual) return Thread.ofVirtual().name(name + "-", 0).factory();
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + n.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
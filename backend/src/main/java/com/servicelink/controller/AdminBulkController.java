@@ -0,0 +1,60 @@
+package com.servicelink.controller;
+
+import com.servicelink.dto.BulkDtos;
+import com.servicelink.service.AdminBulkService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/api/admin/bulk")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminBulkController {
+
+    private final AdminBulkService bulk;
+
+    public AdminBulkController(AdminBulkService bulk) {
+        this.bulk = bulk;
+    }
+
+    @Operation(summary = "Deactivate users by ids or role; cascades to their listings and open bookings")
+    @PostMapping("/users/deactivate")
+    public ResponseEntity<BulkDtos.Job> deactivateUsers(@RequestBody BulkDtos.UserFilter filter) {
+        return accepted(bulk.setUsersActive(filter, false));
+    }
+
+    @Operation(summary = "Activate users by ids or role")
+    @PostMapping("/users/activate")
+    public ResponseEntity<BulkDtos.Job> activateUsers(@RequestBody BulkDtos.UserFilter filter) {
+        return accepted(bulk.setUsersActive(filter, true));
+    }
+
+    @Operation(summary = "Delete listings by ids, owners or category; cancels their open bookings")
+    @PostMapping("/listings/delete")
+    public ResponseEntity<BulkDtos.Job> deleteListings(@RequestBody BulkDtos.ListingFilter filter) {
+        return accepted(bulk.deleteListings(filter));
+    }
+
+    @Operation(summary = "Bulk job progress")
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<BulkDtos.Job> job(@PathVariable String id) {
+        return bulk.job(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Recent bulk jobs on this node")
+    @GetMapping("/jobs")
+    public List<BulkDtos.Job> jobs() {
+        return bulk.jobs();
+    }
+
+    private ResponseEntity<BulkDtos.Job> accepted(BulkDtos.Job job) {
+        return ResponseEntity.accepted()
+                .location(Objects.requireNonNull(URI.create("/api/admin/bulk/jobs/" + job.id)))
+                .body(job);
+    }
+}
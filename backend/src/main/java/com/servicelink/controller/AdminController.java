@@ -1,5 +1,6 @@
 package com.servicelink.controller;
 
+import com.servicelink.config.SecondaryReads;
 import com.servicelink.dto.UserDtos;
 import com.servicelink.dto.ListingDtos;
 import com.servicelink.model.ServiceCategory;
@@ -9,7 +10,10 @@ import com.servicelink.repository.ServiceCategoryRepository;
 import com.servicelink.repository.ServiceListingRepository;
 import com.servicelink.repository.UserRepository;
 import com.servicelink.repository.BookingRepository;
+import com.servicelink.service.AdminStatsService;
+import com.servicelink.service.BookingArchiveService;
 import com.servicelink.service.SequenceGeneratorService;
+import com.servicelink.service.UserSearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -25,6 +29,7 @@ import org.springframework.web.bind.annotation.*;
 import java.net.URI;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -38,13 +43,19 @@ public class AdminController {
     private final ServiceListingRepository listings;
     private final BookingRepository bookings;
     private final SequenceGeneratorService seq;
+    private final BookingArchiveService archive;
+    private final AdminStatsService stats;
+    private final UserSearchService userSearch;
 
-    public AdminController(UserRepository users, ServiceCategoryRepository categories, ServiceListingRepository listings, BookingRepository bookings, SequenceGeneratorService seq) {
+    public AdminController(UserRepository users, ServiceCategoryRepository categories, ServiceListingRepository listings, BookingRepository bookings, SequenceGeneratorService seq, BookingArchiveService archive, AdminStatsService stats, UserSearchService userSearch) {
         this.users = users;
         this.categories = categories;
         this.listings = listings;
         this.bookings = bookings;
         this.seq = seq;
+        this.archive = archive;
+        this.stats = stats;
+        this.userSearch = userSearch;
     }
 
     private UserDtos.Response toDto(User u) {
@@ -75,6 +86,7 @@ public class AdminController {
     }
 
     @Operation(summary = "List users with optional role filter")
+    @SecondaryReads
     @GetMapping("/users")
     public Page<UserDtos.Response> listUsers(@RequestParam(defaultValue = "0") int page,
                                 @RequestParam(defaultValue = "10") int size,
@@ -91,32 +103,40 @@ public class AdminController {
         return new PageImpl<>(Objects.requireNonNull(mapped), pageable, p.getTotalElements());
     }
 
+    public record UserSearchResponse(List<UserDtos.Response> users, String nextCursor) {}
+
+    @Operation(summary = "Prefix search users by name, email or username, optionally within a role")
+    @SecondaryReads
+    @GetMapping("/users/search")
+    public UserSearchResponse searchUsers(@RequestParam String q,
+                                          @RequestParam(required = false) String role,
+                                          @RequestParam(required = false) Integer limit,
+                                          @RequestParam(required = false) String cursor) {
+        String roleName = role == null || role.isBlank() ? null : "ROLE_" + role.toUpperCase(Locale.ROOT);
+        UserSearchService.Page p = userSearch.search(q, roleName, limit, cursor);
+        return new UserSearchResponse(p.users().stream().map(this::toDto).collect(Collectors.toList()), p.nextCursor());
+    }
+
     @Operation(summary = "Admin stats")
     @GetMapping("/stats")
     public ResponseEntity<Object> stats() {
-        long totalUsers = users.count();
-        long activeUsers = users.findAll().stream().filter(User::isActive).count();
-        long disabledUsers = totalUsers - activeUsers;
-        long totalProviders = users.findAll().stream().filter(u -> u.getRoleNames() != null && u.getRoleNames().contains("ROLE_PROVIDER")).count();
-        long totalCustomers = users.findAll().stream().filter(u -> u.getRoleNames() != null && u.getRoleNames().contains("ROLE_USER")).count();
-        long totalListings = listings.count();
-        long totalCategories = categories.count();
-        long totalBookings = bookings.count();
-
-        var body = new java.util.HashMap<String, Object>();
-        body.put("totalUsers", totalUsers);
-        body.put("activeUsers", activeUsers);
-        body.put("disabledUsers", disabledUsers);
-        body.put("totalProviders", totalProviders);
-        body.put("totalCustomers", totalCustomers);
-        body.put("totalListings", totalListings);
-        body.put("activeListings", totalListings); // no active flag available
-        body.put("totalCategories", totalCategories);
-        body.put("totalBookings", totalBookings);
-        return ResponseEntity.ok(body);
+        return ResponseEntity.ok(stats.stats());
+    }
+
+    @Operation(summary = "Hot vs archived collection sizes")
+    @GetMapping("/archive/stats")
+    public Map<String, Object> archiveStats() {
+        return archive.workingSetStats();
+    }
+
+    @Operation(summary = "Run the booking archiver now")
+    @PostMapping("/archive/run")
+    public Map<String, Object> runArchive() {
+        return Map.of("archived", archive.archiveOldBookings());
     }
 
     @Operation(summary = "Admin list listings")
+    @SecondaryReads
     @GetMapping("/listings")
     public Page<ListingDtos.Response> adminListings(Pageable pageable) {
         Page<ServiceListing> p = listings.findAll(pageable);
@@ -140,6 +160,7 @@ public class AdminController {
                 .map(u -> {
                     u.setActive(!u.isActive());
                     users.save(u);
+                    stats.onActiveChanged(u.isActive());
                     return ResponseEntity.ok(new ActiveResponse(u.getId(), u.isActive()));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -147,6 +168,7 @@ public class AdminController {
 
     // Categories CRUD
     @Operation(summary = "List categories")
+    @SecondaryReads
     @GetMapping("/categories")
     public Page<ServiceCategory> listCategories(@RequestParam(defaultValue = "0") int page,
                                                 @RequestParam(defaultValue = "20") int size) {
@@ -0,0 +1,41 @@
+package com.servicelink.controller;
+
+import com.servicelink.service.AdminExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/admin/export")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminExportController {
+
+    private final AdminExportService exports;
+
+    public AdminExportController(AdminExportService exports) {
+        this.exports = exports;
+    }
+
+    @Operation(summary = "Stream users, listings or bookings as NDJSON or CSV")
+    @GetMapping("/{kind}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String kind,
+                                                        @RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam(defaultValue = "" + AdminExportService.DEFAULT_BATCH_SIZE) int batchSize,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        AdminExportService.Kind k = AdminExportService.Kind.parse(kind);
+        AdminExportService.Format f = "csv".equalsIgnoreCase(format) ? AdminExportService.Format.CSV : AdminExportService.Format.NDJSON;
+        String filename = k.name().toLowerCase(Locale.ROOT) + (f == AdminExportService.Format.CSV ? ".csv" : ".ndjson") + (gzip ? ".gz" : "");
+        MediaType type = gzip ? MediaType.parseMediaType("application/gzip")
+                : f == AdminExportService.Format.CSV ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson");
+        return ResponseEntity.ok()
+                .contentType(type)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(exports.export(k, f, batchSize, gzip));
+    }
+}
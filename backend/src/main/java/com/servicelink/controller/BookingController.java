@@ -4,7 +4,10 @@ import com.servicelink.dto.BookingDtos;
 import com.servicelink.model.Booking;
 import com.servicelink.model.User;
 import com.servicelink.repository.BookingRepository;
+import com.servicelink.service.BookingArchiveService;
 import com.servicelink.service.BookingService;
+import com.servicelink.service.BookingTimerService;
+import com.servicelink.service.IdempotencyService;
 import com.servicelink.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
@@ -18,6 +21,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -30,11 +34,17 @@ public class BookingController {
     private final BookingService bookingService;
     private final UserService userService;
     private final BookingRepository bookingRepository;
+    private final IdempotencyService idempotency;
+    private final BookingArchiveService archive;
+    private final BookingTimerService timers;
 
-    public BookingController(BookingService bookingService, UserService userService, BookingRepository bookingRepository) {
+    public BookingController(BookingService bookingService, UserService userService, BookingRepository bookingRepository, IdempotencyService idempotency, BookingArchiveService archive, BookingTimerService timers) {
         this.bookingService = bookingService;
         this.userService = userService;
         this.bookingRepository = bookingRepository;
+        this.idempotency = idempotency;
+        this.archive = archive;
+        this.timers = timers;
     }
 
     private BookingDtos.Response toDto(Booking b) {
@@ -75,19 +85,31 @@ public class BookingController {
     @Operation(summary = "Create a booking")
     @PostMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<BookingDtos.Response> create(@Valid @RequestBody BookingDtos.CreateRequest req, Authentication auth) {
+    public ResponseEntity<BookingDtos.Response> create(@Valid @RequestBody BookingDtos.CreateRequest req,
+                                                       @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                       Authentication auth) {
         User me = userService.getByEmail(auth.getName());
-        Booking b = bookingService.create(me, req);
-        return ResponseEntity.ok(toDto(b));
+        return idempotency.execute(idempotencyKey, "booking-create", me.getId(), req, BookingDtos.Response.class,
+                () -> {
+                    Booking b = bookingService.create(me, req);
+                    timers.onBookingCommitted(b);
+                    return ResponseEntity.ok(toDto(b));
+                });
     }
 
     @Operation(summary = "Dummy pay a booking (marks as paid)")
     @PostMapping("/{id}/pay")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<BookingDtos.Response> pay(@PathVariable Long id, Authentication auth) {
+    public ResponseEntity<BookingDtos.Response> pay(@PathVariable Long id,
+                                                    @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                    Authentication auth) {
         User me = userService.getByEmail(auth.getName());
-        Booking b = bookingService.dummyPay(id, me);
-        return ResponseEntity.ok(toDto(b));
+        return idempotency.execute(idempotencyKey, "booking-pay:" + id, me.getId(), id, BookingDtos.Response.class,
+                () -> {
+                    Booking b = bookingService.dummyPay(id, me);
+                    timers.onBookingCommitted(b);
+                    return ResponseEntity.ok(toDto(b));
+                });
     }
 
     @Operation(summary = "Provider earnings totals")
@@ -108,9 +130,17 @@ public class BookingController {
                                     Authentication auth) {
         User me = userService.getByEmail(auth.getName());
         Pageable pageable = PageRequest.of(page, size);
-        Page<Booking> p = ("provider".equalsIgnoreCase(as)) ? bookingService.forProvider(me, pageable) : bookingService.forCustomer(me, pageable);
-        List<BookingDtos.Response> mapped = p.getContent().stream().map(this::toDto).collect(Collectors.toList());
-        return new PageImpl<>(Objects.requireNonNull(mapped), pageable, p.getTotalElements());
+        boolean asProvider = "provider".equalsIgnoreCase(as);
+        Page<Booking> p = asProvider ? bookingService.forProvider(me, pageable) : bookingService.forCustomer(me, pageable);
+        // archived bookings are older than every hot one, so they continue the list after the hot pages
+        List<Booking> content = new ArrayList<>(p.getContent());
+        long archived = archive.countArchivedFor(me.getId(), asProvider);
+        if (content.size() < size && archived > 0) {
+            long skip = Math.max(0, pageable.getOffset() - p.getTotalElements());
+            content.addAll(archive.findArchivedFor(me.getId(), asProvider, skip, size - content.size()));
+        }
+        List<BookingDtos.Response> mapped = content.stream().map(this::toDto).collect(Collectors.toList());
+        return new PageImpl<>(Objects.requireNonNull(mapped), pageable, p.getTotalElements() + archived);
     }
 
     @Operation(summary = "Change booking status")
@@ -119,6 +149,7 @@ public class BookingController {
     public ResponseEntity<BookingDtos.Response> changeStatus(@PathVariable Long id, @Valid @RequestBody BookingDtos.StatusRequest req, Authentication auth) {
         User me = userService.getByEmail(auth.getName());
         Booking b = bookingService.changeStatus(id, req.status, me);
+        timers.onBookingCommitted(b);
         return ResponseEntity.ok(toDto(b));
     }
 
@@ -128,6 +159,7 @@ public class BookingController {
     public ResponseEntity<BookingDtos.Response> reschedule(@PathVariable Long id, @Valid @RequestBody BookingDtos.RescheduleRequest req, Authentication auth) {
         User me = userService.getByEmail(auth.getName());
         Booking b = bookingService.reschedule(id, req.scheduledAt, me);
+        timers.onBookingCommitted(b);
         return ResponseEntity.ok(toDto(b));
     }
 
@@ -136,7 +168,17 @@ public class BookingController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<BookingDtos.Response> getById(@PathVariable @NonNull Long id, Authentication auth) {
         User me = userService.getByEmail(auth.getName());
-        return ResponseEntity.ok(toDto(bookingService.getForParticipant(id, me)));
+        // not in the hot set: fall through to the archive (also covers one archived since the first read)
+        Booking b = bookingRepository.findById(id).or(() -> archive.findArchived(id))
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        if (!isParticipant(me, b)) return ResponseEntity.status(403).build();
+        return ResponseEntity.ok(toDto(b));
+    }
+
+    private boolean isParticipant(User me, Booking b) {
+        Long providerId = b.getProviderId() != null ? b.getProviderId()
+                : b.getListing() != null && b.getListing().getOwner() != null ? b.getListing().getOwner().getId() : null;
+        return (b.getCustomer() != null && me.getId().equals(b.getCustomer().getId())) || me.getId().equals(providerId);
     }
 
     @Operation(summary = "Get booking summaries for homepage")
@@ -1,7 +1,9 @@
 package com.servicelink.controller;
 
+import com.servicelink.config.SecondaryReads;
 import com.servicelink.model.ServiceCategory;
 import com.servicelink.repository.ServiceCategoryRepository;
+import com.servicelink.service.NodeCaches;
 import io.swagger.v3.oas.annotations.Operation;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -14,14 +16,17 @@ import java.util.List;
 public class CategoryController {
 
     private final ServiceCategoryRepository categories;
+    private final NodeCaches caches;
 
-    public CategoryController(ServiceCategoryRepository categories) {
+    public CategoryController(ServiceCategoryRepository categories, NodeCaches caches) {
         this.categories = categories;
+        this.caches = caches;
     }
 
     @Operation(summary = "List all service categories (public)")
+    @SecondaryReads
     @GetMapping
     public List<ServiceCategory> all() {
-        return categories.findAll();
+        return caches.categories().get(NodeCaches.CATEGORIES, k -> List.copyOf(categories.findAll()));
     }
 }
@@ -0,0 +1,64 @@
+package com.servicelink.controller;
+
+import com.servicelink.dto.InboxDtos;
+import com.servicelink.model.InboxThread;
+import com.servicelink.model.User;
+import com.servicelink.service.InboxService;
+import com.servicelink.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/inbox")
+public class InboxController {
+
+    private final InboxService inbox;
+    private final UserService users;
+
+    public InboxController(InboxService inbox, UserService users) {
+        this.inbox = inbox;
+        this.users = users;
+    }
+
+    private InboxDtos.Thread toDto(InboxThread t) {
+        InboxDtos.Thread r = new InboxDtos.Thread();
+        r.bookingId = t.getBookingId();
+        r.listingTitle = t.getListingTitle();
+        r.unread = t.getUnread();
+        r.lastMessageId = t.getLastMessageId();
+        r.lastSenderId = t.getLastSenderId();
+        r.lastMessagePreview = t.getLastMessagePreview();
+        r.lastMessageAt = t.getLastMessageAt();
+        return r;
+    }
+
+    @Operation(summary = "My message threads with unread counts, most recent first")
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public InboxDtos.Response threads(@RequestParam(defaultValue = "50") int limit, Authentication auth) {
+        User me = users.getByEmail(auth.getName());
+        List<InboxDtos.Thread> threads = inbox.threadsFor(me.getId(), limit).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+        InboxDtos.Response r = new InboxDtos.Response();
+        r.threads = threads;
+        r.totalUnread = inbox.totalUnread(me.getId());
+        return r;
+    }
+
+    @Operation(summary = "Mark a booking's thread as read up to the newest message the client has shown")
+    @PostMapping("/{bookingId}/read")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> markRead(@PathVariable @NonNull Long bookingId, @RequestParam long upTo, Authentication auth) {
+        User me = users.getByEmail(auth.getName());
+        inbox.markRead(me.getId(), bookingId, upTo);
+        return ResponseEntity.noContent().build();
+    }
+}
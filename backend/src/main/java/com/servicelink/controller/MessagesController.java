@@ -6,17 +6,24 @@ import com.servicelink.model.Message;
 import com.servicelink.model.User;
 import com.servicelink.repository.BookingRepository;
 import com.servicelink.repository.MessageRepository;
+import com.servicelink.service.BookingArchiveService;
+import com.servicelink.service.InboxService;
+import com.servicelink.service.MessageHistoryService;
+import com.servicelink.service.MessageStreamService;
 import com.servicelink.service.UserService;
 import com.servicelink.service.SequenceGeneratorService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -27,12 +34,20 @@ public class MessagesController {
     private final BookingRepository bookings;
     private final UserService users;
     private final SequenceGeneratorService seq;
+    private final BookingArchiveService archive;
+    private final MessageHistoryService history;
+    private final MessageStreamService streams;
+    private final InboxService inbox;
 
-    public MessagesController(MessageRepository messages, BookingRepository bookings, UserService users, SequenceGeneratorService seq) {
+    public MessagesController(MessageRepository messages, BookingRepository bookings, UserService users, SequenceGeneratorService seq, BookingArchiveService archive, MessageHistoryService history, MessageStreamService streams, InboxService inbox) {
         this.messages = messages;
         this.bookings = bookings;
         this.users = users;
         this.seq = seq;
+        this.archive = archive;
+        this.history = history;
+        this.streams = streams;
+        this.inbox = inbox;
     }
 
     private boolean isParticipant(User me, Booking b) {
@@ -48,16 +63,66 @@ public class MessagesController {
         return r;
     }
 
-    @Operation(summary = "Get messages for a booking (participants only)")
+    @Operation(summary = "Get messages for a booking (participants only). Whole thread without parameters; cursor-paged by message id with before/after/limit")
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<MessageDtos.Response>> list(@PathVariable @NonNull Long bookingId, Authentication auth) {
+    public ResponseEntity<List<MessageDtos.Response>> list(@PathVariable @NonNull Long bookingId,
+                                                           @RequestParam(required = false) Long before,
+                                                           @RequestParam(required = false) Long after,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           Authentication auth) {
+        User me = users.getByEmail(auth.getName());
+        Optional<Booking> hot = bookings.findById(bookingId);
+        Booking b = hot.or(() -> archive.findArchived(bookingId)).orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        if (!isParticipant(me, b)) return ResponseEntity.status(403).build();
+        MessageHistoryService.Slice slice = history.page(bookingId, before, after, limit, hot.isEmpty());
+        List<MessageDtos.Response> out = slice.messages().stream().map(this::toDto).collect(Collectors.toList());
+        return ResponseEntity.ok()
+                .header("X-Has-More", String.valueOf(slice.hasMore()))
+                .body(out);
+    }
+
+    public record LatestResponse(Long latestId, boolean hasNew) {}
+
+    @Operation(summary = "Cheap poll: id of the newest message and whether it is newer than 'since'")
+    @GetMapping("/latest")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<LatestResponse> latest(@PathVariable @NonNull Long bookingId,
+                                                 @RequestParam(required = false) Long since,
+                                                 Authentication auth) {
+        User me = users.getByEmail(auth.getName());
+        Optional<Booking> hot = bookings.findById(bookingId);
+        Booking b = hot.or(() -> archive.findArchived(bookingId)).orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        if (!isParticipant(me, b)) return ResponseEntity.status(403).build();
+        Long latestId = history.latestId(bookingId, hot.isEmpty());
+        boolean hasNew = latestId != null && !latestId.equals(since);
+        return ResponseEntity.ok(new LatestResponse(latestId, hasNew));
+    }
+
+    @Operation(summary = "Stream new messages of a booking as Server-Sent Events (participants only)")
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SseEmitter> stream(@PathVariable @NonNull Long bookingId,
+                                             @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+                                             Authentication auth) {
         User me = users.getByEmail(auth.getName());
         Booking b = bookings.findById(bookingId).orElseThrow(() -> new IllegalArgumentException("Booking not found"));
         if (!isParticipant(me, b)) return ResponseEntity.status(403).build();
-        List<MessageDtos.Response> out = messages.findByBooking_IdOrderBySentAtAsc(bookingId)
-                .stream().map(this::toDto).collect(Collectors.toList());
-        return ResponseEntity.ok(out);
+        SseEmitter emitter = streams.subscribe(bookingId);
+        if (emitter == null) {
+            return ResponseEntity.status(503).header("Retry-After", "5").build();
+        }
+        if (lastEventId != null) {
+            // resend what was posted while the client was reconnecting
+            try {
+                MessageHistoryService.Slice missed = history.page(bookingId, null, lastEventId, streams.replayLimit(), false);
+                streams.replay(emitter, bookingId, missed.messages().stream().map(this::toDto).toList(), missed.hasMore());
+            } catch (RuntimeException e) {
+                streams.cancel(emitter, bookingId);
+                throw e;
+            }
+        }
+        return ResponseEntity.ok(emitter);
     }
 
     @Operation(summary = "Post a message to a booking (participants only)")
@@ -75,6 +140,9 @@ public class MessagesController {
         m.setSender(me);
         m.setContent(req.content);
         Message saved = messages.save(m);
-        return ResponseEntity.ok(toDto(saved));
+        inbox.onMessagePosted(b, saved);
+        MessageDtos.Response dto = toDto(saved);
+        streams.publish(dto);
+        return ResponseEntity.ok(dto);
     }
 }
@@ -1,12 +1,17 @@
 package com.servicelink.controller;
 
+import com.servicelink.config.SecondaryReads;
 import com.servicelink.dto.ReviewDtos;
 import com.servicelink.model.Booking;
 import com.servicelink.model.BookingStatus;
 import com.servicelink.model.Review;
+import com.servicelink.model.ReviewFeedItem;
 import com.servicelink.model.User;
 import com.servicelink.repository.BookingRepository;
 import com.servicelink.repository.ReviewRepository;
+import com.servicelink.service.ListingRatingService;
+import com.servicelink.service.ReviewEligibilityService;
+import com.servicelink.service.ReviewFeedService;
 import com.servicelink.service.UserService;
 import com.servicelink.service.SequenceGeneratorService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,12 +35,18 @@ public class ReviewController {
     private final BookingRepository bookings;
     private final UserService users;
     private final SequenceGeneratorService seq;
+    private final ListingRatingService ratings;
+    private final ReviewFeedService feed;
+    private final ReviewEligibilityService eligibility;
 
-    public ReviewController(ReviewRepository reviews, BookingRepository bookings, UserService users, SequenceGeneratorService seq) {
+    public ReviewController(ReviewRepository reviews, BookingRepository bookings, UserService users, SequenceGeneratorService seq, ListingRatingService ratings, ReviewFeedService feed, ReviewEligibilityService eligibility) {
         this.reviews = reviews;
         this.bookings = bookings;
         this.users = users;
         this.seq = seq;
+        this.ratings = ratings;
+        this.feed = feed;
+        this.eligibility = eligibility;
     }
 
     private ReviewDtos.Response toDto(Review r) {
@@ -50,6 +61,18 @@ public class ReviewController {
         return out;
     }
 
+    private ReviewDtos.Response toDto(ReviewFeedItem r) {
+        ReviewDtos.Response out = new ReviewDtos.Response();
+        out.id = r.getId();
+        out.bookingId = r.getBookingId();
+        out.rating = r.getRating();
+        out.content = r.getContent();
+        out.authorId = r.getAuthorId();
+        out.authorName = r.getAuthorName();
+        out.createdAt = r.getCreatedAt();
+        return out;
+    }
+
     @Operation(summary = "Create a review for a completed booking")
     @PostMapping("/reviews")
     @PreAuthorize("isAuthenticated()")
@@ -65,13 +88,22 @@ public class ReviewController {
         r.setBooking(b);
         r.setRating(req.rating);
         r.setContent(req.content);
-        return ResponseEntity.status(201).body(toDto(reviews.save(r)));
+        Review saved = reviews.save(r);
+        ratings.record(b.getListing() != null ? b.getListing().getId() : null, saved.getRating());
+        return ResponseEntity.status(201).body(toDto(saved));
     }
 
-    @Operation(summary = "Get reviews for a listing")
+    @Operation(summary = "Get reviews for a listing, newest first; all of them by default, or pages with ?limit=&before=<last review id>")
+    @SecondaryReads
     @GetMapping("/listings/{id}/reviews")
-    public List<ReviewDtos.Response> forListing(@PathVariable @NonNull Long id) {
-        return reviews.findByBooking_Listing_Id(id).stream().map(this::toDto).collect(Collectors.toList());
+    public ResponseEntity<List<ReviewDtos.Response>> forListing(@PathVariable @NonNull Long id,
+                                                                @RequestParam(required = false) Long before,
+                                                                @RequestParam(required = false) Integer limit) {
+        ReviewFeedService.Slice slice = feed.page(id, before, limit);
+        List<ReviewDtos.Response> out = slice.reviews().stream().map(this::toDto).collect(Collectors.toList());
+        return ResponseEntity.ok()
+                .header("X-Has-More", String.valueOf(slice.hasMore()))
+                .body(out);
     }
 
     @Operation(summary = "Can current user review this listing? Returns eligible bookingId if yes")
@@ -79,14 +111,9 @@ public class ReviewController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Map<String, Object>> eligibility(@RequestParam Long listingId, Authentication auth) {
         User me = users.getByEmail(auth.getName());
-        List<Booking> completed = bookings.findByCustomer_IdAndListing_Id(me.getId(), listingId).stream()
-                .filter(b -> b.getStatus() == BookingStatus.COMPLETED)
-                .toList();
-        Optional<Booking> first = completed.stream()
-                .filter(b -> !reviews.existsByBooking_Id(b.getId()))
-                .findFirst();
+        Optional<Long> first = eligibility.firstReviewableBooking(me.getId(), listingId);
         boolean eligible = first.isPresent();
-        Long bookingId = first.map(Booking::getId).orElse(null);
+        Long bookingId = first.orElse(null);
         Map<String, Object> body = new java.util.HashMap<>();
         body.put("eligible", eligible);
         body.put("bookingId", bookingId); // may be null when not eligible
@@ -1,18 +1,27 @@
 package com.servicelink.controller;
 
+import com.servicelink.config.SecondaryReads;
 import com.servicelink.dto.ListingDtos;
 import com.servicelink.mapper.ListingMapper;
+import com.servicelink.model.ListingRating;
 import com.servicelink.model.ServiceCategory;
 import com.servicelink.model.ServiceListing;
 import com.servicelink.model.User;
+import com.servicelink.repository.ListingSearchCriteria;
 import com.servicelink.repository.ServiceCategoryRepository;
 import com.servicelink.repository.ServiceListingRepository;
+import com.servicelink.service.ListingRatingService;
+import com.servicelink.service.NodeCaches;
 import com.servicelink.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,6 +31,7 @@ import org.springframework.web.bind.annotation.*;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -33,19 +43,41 @@ public class ServiceListingController {
     private final UserService userService;
     private final ListingMapper mapper;
     private final com.servicelink.service.SequenceGeneratorService seq;
+    private final ListingRatingService ratings;
+    private final NodeCaches caches;
+    private final MongoTemplate mongo;
 
-    public ServiceListingController(ServiceListingRepository repository, ServiceCategoryRepository categories, UserService userService, ListingMapper mapper, com.servicelink.service.SequenceGeneratorService seq) {
+    public ServiceListingController(ServiceListingRepository repository, ServiceCategoryRepository categories, UserService userService, ListingMapper mapper, com.servicelink.service.SequenceGeneratorService seq, ListingRatingService ratings, NodeCaches caches, MongoTemplate mongo) {
         this.repository = repository;
         this.categories = categories;
         this.userService = userService;
         this.mapper = mapper;
         this.seq = seq;
+        this.ratings = ratings;
+        this.caches = caches;
+        this.mongo = mongo;
     }
 
     private ListingDtos.Response toDto(ServiceListing e) {
         return mapper.toDto(e);
     }
 
+    /** Maps a page of listings and attaches their rating aggregates with one extra query. */
+    private List<ListingDtos.Response> toDtos(List<ServiceListing> content) {
+        Map<Long, ListingRating> byId = ratings.ratingsFor(content.stream().map(ServiceListing::getId).toList());
+        return content.stream().map(e -> withRating(toDto(e), byId.get(e.getId()))).collect(Collectors.toList());
+    }
+
+    private ListingDtos.Response withRating(ListingDtos.Response dto, ListingRating r) {
+        if (r != null && r.getCount() > 0) {
+            dto.ratingAverage = r.getAvg();
+            dto.ratingCount = r.getCount();
+            dto.ratingHistogram = r.histogram();
+        }
+        return dto;
+    }
+
+    @SecondaryReads
     @GetMapping
     public Page<ListingDtos.Response> all(@RequestParam(defaultValue = "0") int page,
                                           @RequestParam(defaultValue = "10") int size,
@@ -53,13 +85,15 @@ public class ServiceListingController {
                                           @RequestParam(required = false) Long categoryId,
                                           @RequestParam(required = false) BigDecimal minPrice,
                                           @RequestParam(required = false) BigDecimal maxPrice,
-                                          @RequestParam(required = false) Long ownerId) {
-        Pageable pageable = PageRequest.of(page, size);
+                                          @RequestParam(required = false) Long ownerId,
+                                          @RequestParam(required = false) String sort) {
+        Pageable pageable = PageRequest.of(page, size, ListingSearchCriteria.sort(sort));
         Page<ServiceListing> pageData = repository.search(q, categoryId, minPrice, maxPrice, ownerId, pageable);
-        List<ListingDtos.Response> mapped = pageData.getContent().stream().map(this::toDto).collect(Collectors.toList());
+        List<ListingDtos.Response> mapped = toDtos(pageData.getContent());
         return new PageImpl<>(Objects.requireNonNull(mapped), pageable, pageData.getTotalElements());
     }
 
+    @SecondaryReads
     @GetMapping("/mine")
     @PreAuthorize("hasRole('PROVIDER')")
     public ResponseEntity<Page<ListingDtos.Response>> mine(@RequestParam(defaultValue = "0") int page,
@@ -70,15 +104,17 @@ public class ServiceListingController {
         if (owner == null) return ResponseEntity.status(401).build();
         Pageable pageable = PageRequest.of(page, size);
         Page<ServiceListing> pageData = repository.findByOwnerId(owner.getId(), pageable);
-        List<ListingDtos.Response> mapped = pageData.getContent().stream().map(this::toDto).collect(Collectors.toList());
+        List<ListingDtos.Response> mapped = toDtos(pageData.getContent());
         return ResponseEntity.ok(new PageImpl<>(Objects.requireNonNull(mapped), pageable, pageData.getTotalElements()));
     }
 
+    @SecondaryReads
     @GetMapping("/{id}")
     public ResponseEntity<ListingDtos.Response> byId(@PathVariable @NonNull Long id) {
-        return repository.findById(id)
-                .map(e -> ResponseEntity.ok(toDto(e)))
-                .orElseGet(() -> ResponseEntity.status(404).<ListingDtos.Response>build());
+        ListingDtos.Response dto = caches.listings().get(id, k -> repository.findById(k)
+                .map(e -> toDtos(List.of(e)).get(0))
+                .orElse(null));
+        return dto != null ? ResponseEntity.ok(dto) : ResponseEntity.status(404).build();
     }
 
     @PostMapping
@@ -113,16 +149,17 @@ public class ServiceListingController {
         if (owner == null || !existing.getOwner().getId().equals(owner.getId())) {
             return ResponseEntity.status(403).build();
         }
-        existing.setTitle(req.title);
-        existing.setDescription(req.description);
-        existing.setPrice(req.price);
-        if (req.categoryId != null) {
-            ServiceCategory cat = categories.findById(req.categoryId).orElse(null);
-            existing.setCategory(cat);
-        } else {
-            existing.setCategory(null);
-        }
-        return ResponseEntity.ok(toDto(repository.save(existing)));
+        ServiceCategory cat = req.categoryId != null ? categories.findById(req.categoryId).orElse(null) : null;
+        // $set of the edited fields, not a replace: the rating aggregate is written concurrently by reviews
+        mongo.updateFirst(new Query(Criteria.where("id").is(id)), new Update()
+                .set("title", req.title)
+                .set("description", req.description)
+                .set("price", req.price)
+                .set("category", cat), ServiceListing.class);
+        caches.evict(NodeCaches.LISTINGS, List.of(id));
+        return repository.findById(id)
+                .map(updated -> ResponseEntity.ok(toDtos(List.of(updated)).get(0)))
+                .orElseGet(() -> ResponseEntity.status(404).build());
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,36 @@
+package com.servicelink.dto;
+
+import java.util.Date;
+import java.util.List;
+
+public class BulkDtos {
+    /** Selects users by explicit ids and/or a role; admins are never touched. */
+    public static class UserFilter {
+        public List<Long> ids;
+        public String role;
+        public boolean cascade = true;
+        public Integer chunkSize;
+    }
+    /** Selects listings by explicit ids, owners and/or category. */
+    public static class ListingFilter {
+        public List<Long> ids;
+        public List<Long> ownerIds;
+        public Long categoryId;
+        public boolean cascade = true;
+        public Integer chunkSize;
+    }
+    public static class Job {
+        public String id;
+        public String operation;
+        public String status;
+        public long matched;
+        public long processed;
+        public int chunks;
+        public long modified;
+        public long listingsRemoved;
+        public long bookingsCancelled;
+        public String error;
+        public Date startedAt;
+        public Date finishedAt;
+    }
+}
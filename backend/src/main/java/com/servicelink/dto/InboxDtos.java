@@ -0,0 +1,20 @@
+package com.servicelink.dto;
+
+import java.util.Date;
+import java.util.List;
+
+public class InboxDtos {
+    public static class Thread {
+        public Long bookingId;
+        public String listingTitle;
+        public int unread;
+        public Long lastMessageId;
+        public Long lastSenderId;
+        public String lastMessagePreview;
+        public Date lastMessageAt;
+    }
+    public static class Response {
+        public int totalUnread;
+        public List<Thread> threads;
+    }
+}
@@ -27,5 +27,8 @@ public class ListingDtos {
         public String ownerName;
         public Long categoryId;
         public String categoryName;
+        public Double ratingAverage; // null until the first review
+        public long ratingCount;
+        public long[] ratingHistogram; // counts for 1..5 stars
     }
 }
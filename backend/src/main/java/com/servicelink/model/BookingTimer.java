@@ -0,0 +1,48 @@
+package com.servicelink.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Persisted due time of a booking reminder or pending-booking expiry.
+ * The in-memory timing wheel is rebuilt from the dueAt index after a restart.
+ */
+@Document("booking_timers")
+@CompoundIndex(name = "dueAt_id", def = "{'dueAt': 1, '_id': 1}")
+public class BookingTimer {
+
+    public enum Type { REMINDER, PENDING_EXPIRY }
+
+    @Id
+    private String id; // bookingId:type
+    @Indexed
+    private Long bookingId;
+    private Type type;
+    private Date dueAt;
+
+    public BookingTimer() {}
+
+    public BookingTimer(Long bookingId, Type type, Date dueAt) {
+        this.id = key(bookingId, type);
+        this.bookingId = bookingId;
+        this.type = type;
+        this.dueAt = dueAt;
+    }
+
+    public static String key(Long bookingId, Type type) {
+        return bookingId + ":" + type.name();
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+    public Date getDueAt() { return dueAt; }
+    public void setDueAt(Date dueAt) { this.dueAt = dueAt; }
+}
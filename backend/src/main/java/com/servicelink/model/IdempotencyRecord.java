@@ -0,0 +1,43 @@
+package com.servicelink.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Stored outcome of a request sent with an {@code Idempotency-Key} header.
+ * The id is the scoped key itself so a replay is a single primary-key read;
+ * documents are removed by the TTL index on {@code expiresAt}.
+ */
+@Document("idempotency_keys")
+public class IdempotencyRecord {
+
+    public enum Status { IN_PROGRESS, COMPLETED }
+
+    @Id
+    private String id; // userId:scope:key
+    private Status status;
+    private String fingerprint; // hash of the request payload, guards against key reuse
+    private int responseStatus;
+    private String responseBody; // JSON
+    private Date createdAt;
+    @Indexed(expireAfterSeconds = 0)
+    private Date expiresAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+    public int getResponseStatus() { return responseStatus; }
+    public void setResponseStatus(int responseStatus) { this.responseStatus = responseStatus; }
+    public String getResponseBody() { return responseBody; }
+    public void setResponseBody(String responseBody) { this.responseBody = responseBody; }
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+    public Date getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Date expiresAt) { this.expiresAt = expiresAt; }
+}
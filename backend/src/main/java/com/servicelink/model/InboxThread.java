@@ -0,0 +1,53 @@
+package com.servicelink.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * One participant's view of a booking's message thread: unread counter plus a snapshot of
+ * the last message, so the inbox never has to touch the messages collection.
+ */
+@Document("inbox_threads")
+@CompoundIndex(name = "user_lastMessageAt", def = "{'userId': 1, 'lastMessageAt': -1}")
+public class InboxThread {
+
+    @Id
+    private String id; // userId:bookingId
+    private Long userId;
+    private Long bookingId;
+    private String listingTitle;
+    private int unread;
+    private Long lastMessageId;
+    private Long lastSenderId;
+    private String lastMessagePreview;
+    private Date lastMessageAt;
+    private Long lastReadMessageId;
+
+    public static String key(Long userId, Long bookingId) {
+        return userId + ":" + bookingId;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+    public String getListingTitle() { return listingTitle; }
+    public void setListingTitle(String listingTitle) { this.listingTitle = listingTitle; }
+    public int getUnread() { return unread; }
+    public void setUnread(int unread) { this.unread = unread; }
+    public Long getLastMessageId() { return lastMessageId; }
+    public void setLastMessageId(Long lastMessageId) { this.lastMessageId = lastMessageId; }
+    public Long getLastSenderId() { return lastSenderId; }
+    public void setLastSenderId(Long lastSenderId) { this.lastSenderId = lastSenderId; }
+    public String getLastMessagePreview() { return lastMessagePreview; }
+    public void setLastMessagePreview(String lastMessagePreview) { this.lastMessagePreview = lastMessagePreview; }
+    public Date getLastMessageAt() { return lastMessageAt; }
+    public void setLastMessageAt(Date lastMessageAt) { this.lastMessageAt = lastMessageAt; }
+    public Long getLastReadMessageId() { return lastReadMessageId; }
+    public void setLastReadMessageId(Long lastReadMessageId) { this.lastReadMessageId = lastReadMessageId; }
+}
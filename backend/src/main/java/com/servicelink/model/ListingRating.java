@@ -0,0 +1,38 @@
+package com.servicelink.model;
+
+/**
+ * Rating aggregate embedded in each listing document under {@code rating}.
+ * Maintained incrementally when a review is written and recomputed periodically to correct drift.
+ */
+public class ListingRating {
+    private long count;
+    private long sum;
+    private double avg;
+    private long star1;
+    private long star2;
+    private long star3;
+    private long star4;
+    private long star5;
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+    public long getSum() { return sum; }
+    public void setSum(long sum) { this.sum = sum; }
+    public double getAvg() { return avg; }
+    public void setAvg(double avg) { this.avg = avg; }
+    public long getStar1() { return star1; }
+    public void setStar1(long star1) { this.star1 = star1; }
+    public long getStar2() { return star2; }
+    public void setStar2(long star2) { this.star2 = star2; }
+    public long getStar3() { return star3; }
+    public void setStar3(long star3) { this.star3 = star3; }
+    public long getStar4() { return star4; }
+    public void setStar4(long star4) { this.star4 = star4; }
+    public long getStar5() { return star5; }
+    public void setStar5(long star5) { this.star5 = star5; }
+
+    /** Counts for 1..5 stars, index 0 being one star. */
+    public long[] histogram() {
+        return new long[]{star1, star2, star3, star4, star5};
+    }
+}
@@ -0,0 +1,39 @@
+package com.servicelink.model;
+
+import org.springframework.data.annotation.Id;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model over the reviews collection. The author, listing and booking ids are
+ * snapshotted onto the review document when it is written, so a page of reviews never
+ * has to resolve booking or customer references.
+ */
+public class ReviewFeedItem {
+    @Id
+    private Long id;
+    private Long listingId;
+    private Long bookingId;
+    private Long authorId;
+    private String authorName;
+    private Integer rating;
+    private String content;
+    private LocalDateTime createdAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getListingId() { return listingId; }
+    public void setListingId(Long listingId) { this.listingId = listingId; }
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+    public Long getAuthorId() { return authorId; }
+    public void setAuthorId(Long authorId) { this.authorId = authorId; }
+    public String getAuthorName() { return authorName; }
+    public void setAuthorName(String authorName) { this.authorName = authorName; }
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
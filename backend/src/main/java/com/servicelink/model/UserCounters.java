@@ -0,0 +1,35 @@
+package com.servicelink.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Running user totals for the admin dashboard, kept with $inc on the write paths
+ * and periodically reconciled against the users collection.
+ */
+@Document("stats_counters")
+public class UserCounters {
+
+    public static final String ID = "users";
+
+    @Id
+    private String id = ID;
+    private long total;
+    private long active;
+    private long providers;
+    private long customers;
+    private long version; // bumped by every $inc, so a reconcile can tell it raced one
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    public long getActive() { return active; }
+    public void setActive(long active) { this.active = active; }
+    public long getProviders() { return providers; }
+    public void setProviders(long providers) { this.providers = providers; }
+    public long getCustomers() { return customers; }
+    public void setCustomers(long customers) { this.customers = customers; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
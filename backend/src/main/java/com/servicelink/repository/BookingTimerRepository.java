@@ -0,0 +1,13 @@
+package com.servicelink.repository;
+
+import com.servicelink.model.BookingTimer;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Date;
+import java.util.List;
+
+public interface BookingTimerRepository extends MongoRepository<BookingTimer, String> {
+    List<BookingTimer> findByBookingId(Long bookingId);
+    long deleteByBookingId(Long bookingId);
+    long deleteByIdAndDueAt(String id, Date dueAt);
+}
@@ -0,0 +1,7 @@
+package com.servicelink.repository;
+
+import com.servicelink.model.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String> {
+}
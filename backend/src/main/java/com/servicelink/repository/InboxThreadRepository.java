@@ -0,0 +1,11 @@
+package com.servicelink.repository;
+
+import com.servicelink.model.InboxThread;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface InboxThreadRepository extends MongoRepository<InboxThread, String> {
+    List<InboxThread> findByUserIdOrderByLastMessageAtDesc(Long userId, Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package com.servicelink.repository;
+
+import com.servicelink.service.ListingRatingService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Filters and orderings of the public listing search, shared by the servlet endpoints and the
+ * reactive read service so both answer the same query the same way. Paths are entity property
+ * paths; map them against {@code ServiceListing}.
+ */
+public final class ListingSearchCriteria {
+
+    private ListingSearchCriteria() {
+    }
+
+    public static Criteria of(String q, Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, Long ownerId) {
+        List<Criteria> parts = new ArrayList<>();
+        if (q != null && !q.isBlank()) {
+            Pattern text = Pattern.compile(Pattern.quote(q.trim()), Pattern.CASE_INSENSITIVE);
+            parts.add(new Criteria().orOperator(Criteria.where("title").regex(text), Criteria.where("description").regex(text)));
+        }
+        if (categoryId != null) parts.add(Criteria.where("category.id").is(categoryId));
+        if (ownerId != null) parts.add(Criteria.where("owner.id").is(ownerId));
+        if (minPrice != null || maxPrice != null) {
+            Criteria price = Criteria.where("price");
+            if (minPrice != null) price.gte(minPrice);
+            if (maxPrice != null) price.lte(maxPrice);
+            parts.add(price);
+        }
+        return parts.isEmpty() ? new Criteria() : new Criteria().andOperator(parts.toArray(Criteria[]::new));
+    }
+
+    /** "rating" sorts on the indexed rating.avg/rating.count fields of the listing document. */
+    public static Sort sort(String sort) {
+        return "rating".equalsIgnoreCase(sort)
+                ? Sort.by(Sort.Order.desc(ListingRatingService.FIELD + ".avg"), Sort.Order.desc(ListingRatingService.FIELD + ".count"))
+                : Sort.unsorted();
+    }
+}
@@ -4,6 +4,8 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -14,6 +16,7 @@ import java.util.Date;
 import java.util.function.Function;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
@@ -24,6 +27,16 @@ public class JwtUtil {
     @Value("${app.jwt.expiration-seconds}")
     private long expirationSeconds;
 
+    private final Timer verifyOk;
+    private final Timer verifyFailed;
+    private final Timer sign;
+
+    public JwtUtil(MeterRegistry meters) {
+        this.verifyOk = Timer.builder("servicelink.jwt.verify").tag("outcome", "success").register(meters);
+        this.verifyFailed = Timer.builder("servicelink.jwt.verify").tag("outcome", "failure").register(meters);
+        this.sign = Timer.builder("servicelink.jwt.sign").register(meters);
+    }
+
     private Key getSigningKey() {
         return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
     }
@@ -37,11 +50,19 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        long start = System.nanoTime();
+        final Claims claims;
+        try {
+            claims = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        } catch (RuntimeException e) {
+            verifyFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        verifyOk.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         return claimsResolver.apply(claims);
     }
 
@@ -67,13 +88,14 @@ public class JwtUtil {
         if (subject == null) {
             throw new IllegalStateException("Cannot generate JWT without a subject");
         }
-        return Jwts.builder()
+        final String sub = subject;
+        return sign.record(() -> Jwts.builder()
                 .setClaims(claims)
-                .setSubject(subject)
+                .setSubject(sub)
                 .setIssuedAt(now)
                 .setExpiration(exp)
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .compact());
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
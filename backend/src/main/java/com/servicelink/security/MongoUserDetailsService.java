@@ -2,6 +2,7 @@ package com.servicelink.security;
 
 import com.servicelink.model.User;
 import com.servicelink.repository.UserRepository;
+import com.servicelink.service.NodeCaches;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -10,15 +11,17 @@ import org.springframework.stereotype.Service;
 @Service
 public class MongoUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final NodeCaches caches;
 
-    public MongoUserDetailsService(UserRepository userRepository) {
+    public MongoUserDetailsService(UserRepository userRepository, NodeCaches caches) {
         this.userRepository = userRepository;
+        this.caches = caches;
     }
 
     @Override
     public UserDetails loadUserByUsername(String identifier) throws UsernameNotFoundException {
-        User user = userRepository.findByUsernameOrEmail(identifier, identifier)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + identifier));
+        User user = caches.users().get(identifier, k -> userRepository.findByUsernameOrEmail(k, k).orElse(null));
+        if (user == null) throw new UsernameNotFoundException("User not found: " + identifier);
         return new SecurityUserDetails(user);
     }
 }
@@ -0,0 +1,62 @@
+package com.servicelink.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link RateLimiter} after JWT authentication: signed-in clients are keyed by user id,
+ * anonymous ones by remote address (set {@code server.forward-headers-strategy} behind a proxy).
+ * Refused requests get 429 with {@code Retry-After} and never reach the controllers.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter limiter;
+
+    public RateLimitFilter(RateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !limiter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.RouteClass route = RateLimiter.classify(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long waitNanos = limiter.tryAcquire(route, clientKey(request));
+        if (waitNanos > 0) {
+            long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", Long.toString(seconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"message\":\"Too many requests, retry in " + seconds + "s\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof SecurityUserDetails user && user.getId() != null) {
+            return "u:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,135 @@
+package com.servicelink.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets, one budget per route class. Each bucket is a single
+ * {@link AtomicLong} holding its "theoretical arrival time" (the GCRA form of a token bucket):
+ * a request advances it by one emission interval with one CAS, and is refused when that would
+ * put it more than {@code capacity} intervals ahead of now. No locks and no allocation once a
+ * client's bucket exists.
+ * <p>
+ * A bucket whose arrival time has passed is full, which is the same as having no bucket, so idle
+ * clients are swept without changing anyone's budget. When a map still reaches
+ * {@code app.ratelimit.max-clients}, arbitrary buckets are dropped (those clients start full again).
+ */
+@Component
+public class RateLimiter {
+
+    public enum RouteClass { LOGIN, SEARCH, DEFAULT }
+
+    private static final class Budget {
+        final long intervalNanos;
+        final long burstNanos;
+        final Map<String, AtomicLong> clients = new ConcurrentHashMap<>();
+        final Counter allowed;
+        final Counter limited;
+
+        Budget(RouteClass route, int capacity, double refillPerSecond, MeterRegistry meters) {
+            if (capacity < 1 || refillPerSecond <= 0) {
+                throw new IllegalArgumentException("Rate limit for " + route + " needs capacity >= 1 and refill > 0");
+            }
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+            this.burstNanos = intervalNanos * capacity;
+            String tag = route.name().toLowerCase();
+            this.allowed = Counter.builder("servicelink.ratelimit.requests").tag("route", tag).tag("outcome", "allowed").register(meters);
+            this.limited = Counter.builder("servicelink.ratelimit.requests").tag("route", tag).tag("outcome", "limited").register(meters);
+            Gauge.builder("servicelink.ratelimit.clients", clients, Map::size).tag("route", tag).register(meters);
+        }
+    }
+
+    private final boolean enabled;
+    private final int maxClients;
+    private final Map<RouteClass, Budget> budgets = new EnumMap<>(RouteClass.class);
+    private final Counter evictions;
+    LongSupplier nanoTime = System::nanoTime; // replaced by tests
+
+    public RateLimiter(MeterRegistry meters,
+                       @Value("${app.ratelimit.enabled:true}") boolean enabled,
+                       @Value("${app.ratelimit.max-clients:100000}") int maxClients,
+                       @Value("${app.ratelimit.login.capacity:10}") int loginCapacity,
+                       @Value("${app.ratelimit.login.refill-per-second:0.2}") double loginRefill,
+                       @Value("${app.ratelimit.search.capacity:40}") int searchCapacity,
+                       @Value("${app.ratelimit.search.refill-per-second:20}") double searchRefill,
+                       @Value("${app.ratelimit.default.capacity:100}") int defaultCapacity,
+                       @Value("${app.ratelimit.default.refill-per-second:50}") double defaultRefill) {
+        this.enabled = enabled;
+        this.maxClients = maxClients;
+        budgets.put(RouteClass.LOGIN, new Budget(RouteClass.LOGIN, loginCapacity, loginRefill, meters));
+        budgets.put(RouteClass.SEARCH, new Budget(RouteClass.SEARCH, searchCapacity, searchRefill, meters));
+        budgets.put(RouteClass.DEFAULT, new Budget(RouteClass.DEFAULT, defaultCapacity, defaultRefill, meters));
+        this.evictions = Counter.builder("servicelink.ratelimit.evictions")
+                .description("Buckets dropped because the client map was full")
+                .register(meters);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Route class of an API request, or null for paths that are not limited. */
+    public static RouteClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/api/")) return null;
+        String method = request.getMethod();
+        // login and register both run BCrypt
+        if ("POST".equals(method) && path.startsWith("/api/auth/")) return RouteClass.LOGIN;
+        if ("GET".equals(method) && path.equals("/api/listings")) return RouteClass.SEARCH;
+        return RouteClass.DEFAULT;
+    }
+
+    /** Takes one token; returns 0 when allowed, otherwise the nanoseconds until one is available. */
+    public long tryAcquire(RouteClass route, String client) {
+        Budget b = budgets.get(route);
+        long now = nanoTime.getAsLong();
+        AtomicLong tat = b.clients.get(client);
+        if (tat == null) {
+            if (b.clients.size() >= maxClients) makeRoom(b, now);
+            tat = b.clients.computeIfAbsent(client, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + b.intervalNanos;
+            long wait = next - now - b.burstNanos;
+            if (wait > 0) {
+                b.limited.increment();
+                return wait;
+            }
+            if (tat.compareAndSet(current, next)) {
+                b.allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.ratelimit.sweep-ms:60000}")
+    public void sweep() {
+        long now = nanoTime.getAsLong();
+        // a request racing with removal spends its token on the detached bucket; the next one starts full
+        budgets.values().forEach(b -> b.clients.values().removeIf(tat -> tat.get() - now <= 0));
+    }
+
+    private void makeRoom(Budget b, long now) {
+        b.clients.values().removeIf(tat -> tat.get() - now <= 0);
+        int excess = b.clients.size() - maxClients * 9 / 10;
+        for (Iterator<AtomicLong> it = b.clients.values().iterator(); excess > 0 && it.hasNext(); excess--) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.servicelink.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/** Records how long hashing and verification take; BCrypt cost dominates login and register latency. */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encode;
+    private final Timer matches;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meters) {
+        this.delegate = delegate;
+        this.encode = Timer.builder("servicelink.password.encode").register(meters);
+        this.matches = Timer.builder("servicelink.password.matches").register(meters);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encode.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean ok = matches.record(() -> delegate.matches(rawPassword, encodedPassword));
+        return ok != null && ok;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
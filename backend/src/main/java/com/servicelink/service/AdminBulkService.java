@@ -0,0 +1,248 @@
+package com.servicelink.service;
+
+import com.servicelink.config.WorkerThreads;
+import com.servicelink.dto.BulkDtos;
+import com.servicelink.model.Booking;
+import com.servicelink.model.BookingStatus;
+import com.servicelink.model.ServiceListing;
+import com.servicelink.model.User;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Moderation sweeps as background jobs. Targets are walked in id order by keyset, one chunk
+ * at a time, and each chunk is applied with a single updateMany/deleteMany (including the
+ * cascade to listings and open bookings), so a sweep over thousands of users costs a few
+ * round trips per chunk instead of one request per id. Job progress is kept in memory on the
+ * node that runs it and can be polled until the job finishes.
+ */
+@Service
+public class AdminBulkService {
+
+    public enum Status { RUNNING, DONE, FAILED }
+
+    private static final Logger log = LoggerFactory.getLogger(AdminBulkService.class);
+    private static final List<BookingStatus> OPEN = List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    private final MongoTemplate mongo;
+    private final AdminStatsService stats;
+    private final NodeCaches caches;
+    private final Map<String, BulkDtos.Job> jobs = new LinkedHashMap<>();
+    private final ExecutorService workers;
+
+    @Value("${app.bulk.chunk-size:500}")
+    private int defaultChunkSize;
+    @Value("${app.bulk.pause-ms:50}")
+    private long pauseMs;
+    @Value("${app.bulk.keep-jobs:100}")
+    private int keepJobs;
+
+    public AdminBulkService(MongoTemplate mongo, AdminStatsService stats, NodeCaches caches, WorkerThreads threads,
+                            @Value("${app.bulk.workers:1}") int workers) {
+        this.mongo = mongo;
+        this.stats = stats;
+        this.caches = caches;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workers), threads.named("admin-bulk"));
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    public BulkDtos.Job setUsersActive(BulkDtos.UserFilter f, boolean active) {
+        Criteria c = userCriteria(f);
+        int chunk = chunkSize(f.chunkSize);
+        return submit(active ? "users.activate" : "users.deactivate", mongo.count(new Query(c), User.class), job ->
+                forEachChunk(c, User.class, chunk, job, ids -> {
+                    long modified = mongo.updateMulti(new Query(Criteria.where("id").in(ids).and("active").is(!active)),
+                            Update.update("active", active), User.class).getModifiedCount();
+                    stats.adjustActive(active ? modified : -modified);
+                    if (modified > 0) caches.evict(NodeCaches.USERS, ids);
+                    synchronized (job) { job.modified += modified; }
+                    if (!active && f.cascade) {
+                        removeListings(Criteria.where("owner.id").in(ids), chunk, job);
+                        cancelOpenBookings(Criteria.where("customer.id").in(ids), job);
+                    }
+                }));
+    }
+
+    public BulkDtos.Job deleteListings(BulkDtos.ListingFilter f) {
+        Criteria c = listingCriteria(f);
+        int chunk = chunkSize(f.chunkSize);
+        return submit("listings.delete", mongo.count(new Query(c), ServiceListing.class), job ->
+                forEachChunk(c, ServiceListing.class, chunk, job, ids -> {
+                    if (f.cascade) cancelOpenBookings(Criteria.where("listing.id").in(ids), job);
+                    long removed = mongo.remove(new Query(Criteria.where("id").in(ids)), ServiceListing.class).getDeletedCount();
+                    synchronized (job) {
+                        job.modified += removed;
+                        job.listingsRemoved += removed;
+                    }
+                }));
+    }
+
+    public Optional<BulkDtos.Job> job(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id)).map(this::snapshot);
+        }
+    }
+
+    public List<BulkDtos.Job> jobs() {
+        synchronized (jobs) {
+            return jobs.values().stream().map(this::snapshot).toList();
+        }
+    }
+
+    private BulkDtos.Job submit(String operation, long matched, Consumer<BulkDtos.Job> body) {
+        BulkDtos.Job job = new BulkDtos.Job();
+        job.id = UUID.randomUUID().toString();
+        job.operation = operation;
+        job.status = Status.RUNNING.name();
+        job.matched = matched;
+        job.startedAt = new Date();
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            var it = jobs.values().iterator();
+            while (jobs.size() > keepJobs && it.hasNext()) {
+                if (!Status.RUNNING.name().equals(it.next().status)) it.remove();
+            }
+        }
+        workers.execute(() -> {
+            try {
+                body.accept(job);
+                finish(job, Status.DONE, null);
+                log.info("Bulk {} finished: {} processed, {} modified", operation, job.processed, job.modified);
+            } catch (RuntimeException e) {
+                log.warn("Bulk {} failed after {} chunks", operation, job.chunks, e);
+                finish(job, Status.FAILED, e.getMessage());
+            }
+        });
+        return snapshot(job);
+    }
+
+    /** Keyset walk over matching ids; the filter is re-applied per chunk so already-handled rows can drop out. */
+    private void forEachChunk(Criteria filter, Class<?> type, int chunk, BulkDtos.Job job, Consumer<List<Long>> apply) {
+        Long after = null;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = idsAfter(filter, type, after, chunk);
+            if (ids.isEmpty()) return;
+            apply.accept(ids);
+            after = ids.get(ids.size() - 1);
+            synchronized (job) {
+                job.processed += ids.size();
+                job.chunks++;
+            }
+            if (ids.size() < chunk) return;
+            pause();
+        }
+    }
+
+    private List<Long> idsAfter(Criteria filter, Class<?> type, Long after, int limit) {
+        Criteria c = after == null ? filter : new Criteria().andOperator(filter, Criteria.where("id").gt(after));
+        Query q = new Query(c).with(Sort.by(Sort.Direction.ASC, "id")).limit(limit);
+        q.fields().include("id");
+        List<Long> ids = new ArrayList<>();
+        for (Object o : mongo.find(q, type)) {
+            ids.add(o instanceof User u ? u.getId() : ((ServiceListing) o).getId());
+        }
+        return ids;
+    }
+
+    private void removeListings(Criteria owned, int chunk, BulkDtos.Job job) {
+        // always restart from the front: removed listings no longer match
+        List<Long> ids;
+        do {
+            ids = idsAfter(owned, ServiceListing.class, null, chunk);
+            if (ids.isEmpty()) return;
+            cancelOpenBookings(Criteria.where("listing.id").in(ids), job);
+            long removed = mongo.remove(new Query(Criteria.where("id").in(ids)), ServiceListing.class).getDeletedCount();
+            synchronized (job) { job.listingsRemoved += removed; }
+        } while (ids.size() == chunk);
+    }
+
+    private void cancelOpenBookings(Criteria related, BulkDtos.Job job) {
+        // timers still pending for these bookings see the CANCELLED status when they fire and do nothing
+        long cancelled = mongo.updateMulti(new Query(new Criteria().andOperator(related, Criteria.where("status").in(OPEN))),
+                Update.update("status", BookingStatus.CANCELLED), Booking.class).getModifiedCount();
+        synchronized (job) { job.bookingsCancelled += cancelled; }
+    }
+
+    private Criteria userCriteria(BulkDtos.UserFilter f) {
+        List<Criteria> parts = new ArrayList<>();
+        if (f.ids != null && !f.ids.isEmpty()) parts.add(Criteria.where("id").in(f.ids));
+        if (f.role != null && !f.role.isBlank()) parts.add(Criteria.where("roleNames").is("ROLE_" + f.role.toUpperCase(Locale.ROOT)));
+        if (parts.isEmpty()) throw new IllegalArgumentException("Provide ids or role");
+        parts.add(Criteria.where("roleNames").ne("ROLE_ADMIN"));
+        return new Criteria().andOperator(parts.toArray(Criteria[]::new));
+    }
+
+    private Criteria listingCriteria(BulkDtos.ListingFilter f) {
+        List<Criteria> parts = new ArrayList<>();
+        if (f.ids != null && !f.ids.isEmpty()) parts.add(Criteria.where("id").in(f.ids));
+        if (f.ownerIds != null && !f.ownerIds.isEmpty()) parts.add(Criteria.where("owner.id").in(f.ownerIds));
+        if (f.categoryId != null) parts.add(Criteria.where("category.id").is(f.categoryId));
+        if (parts.isEmpty()) throw new IllegalArgumentException("Provide ids, ownerIds or categoryId");
+        return parts.size() == 1 ? parts.get(0) : new Criteria().andOperator(parts.toArray(Criteria[]::new));
+    }
+
+    private int chunkSize(Integer requested) {
+        int size = requested != null ? requested : defaultChunkSize;
+        if (size < 1 || size > 5000) throw new IllegalArgumentException("chunkSize must be between 1 and 5000");
+        return size;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void finish(BulkDtos.Job job, Status status, String error) {
+        synchronized (job) {
+            job.status = status.name();
+            job.error = error;
+            job.finishedAt = new Date();
+        }
+    }
+
+    private BulkDtos.Job snapshot(BulkDtos.Job job) {
+        synchronized (job) {
+            BulkDtos.Job copy = new BulkDtos.Job();
+            copy.id = job.id;
+            copy.operation = job.operation;
+            copy.status = job.status;
+            copy.matched = job.matched;
+            copy.processed = job.processed;
+            copy.chunks = job.chunks;
+            copy.modified = job.modified;
+            copy.listingsRemoved = job.listingsRemoved;
+            copy.bookingsCancelled = job.bookingsCancelled;
+            copy.error = job.error;
+            copy.startedAt = job.startedAt;
+            copy.finishedAt = job.finishedAt;
+            return copy;
+        }
+    }
+}
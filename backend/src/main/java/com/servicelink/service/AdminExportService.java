@@ -0,0 +1,154 @@
+package com.servicelink.service;
+
+import com.servicelink.model.Booking;
+import com.servicelink.model.ServiceListing;
+import com.servicelink.model.User;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams admin exports straight from a Mongo cursor. Only the exported fields are projected
+ * server-side (never password hashes or whole embedded users), rows are written as they arrive
+ * and the cursor fetches {@code batchSize} documents per round trip, so memory stays flat
+ * however large the collection is.
+ */
+@Service
+public class AdminExportService {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 10000;
+
+    public enum Format { NDJSON, CSV }
+
+    /**
+     * Export definition: entity property paths to project, the resulting stored column paths and the
+     * archive collection that holds the older part of the data, if any.
+     */
+    public enum Kind {
+        USERS(User.class,
+                List.of("id", "name", "email", "username", "roleNames", "active"),
+                List.of("_id", "name", "email", "username", "roleNames", "active"),
+                null),
+        LISTINGS(ServiceListing.class,
+                List.of("id", "title", "description", "price", "owner.id", "owner.name", "category.id", "category.name"),
+                List.of("_id", "title", "description", "price", "owner._id", "owner.name", "category._id", "category.name"),
+                null),
+        BOOKINGS(Booking.class,
+                List.of("id", "listing.id", "customer.id", "providerId", "scheduledAt", "status", "paymentStatus", "paymentRef", "paidAt", "createdAt"),
+                List.of("_id", "listing._id", "customer._id", "providerId", "scheduledAt", "status", "paymentStatus", "paymentRef", "paidAt", "createdAt"),
+                BookingArchiveService.BOOKINGS_ARCHIVE);
+
+        final Class<?> type;
+        final List<String> properties;
+        final List<String> columns;
+        final String archive;
+
+        Kind(Class<?> type, List<String> properties, List<String> columns, String archive) {
+            this.type = type;
+            this.properties = properties;
+            this.columns = columns;
+            this.archive = archive;
+        }
+
+        public static Kind parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown export '" + value + "'. Use users, listings or bookings");
+            }
+        }
+    }
+
+    private static final JsonWriterSettings JSON = JsonWriterSettings.builder()
+            .outputMode(JsonMode.RELAXED)
+            .dateTimeConverter((millis, w) -> w.writeString(Instant.ofEpochMilli(millis).toString()))
+            .decimal128Converter((d, w) -> w.writeNumber(d.toString()))
+            .int64Converter((n, w) -> w.writeNumber(n.toString()))
+            .build();
+
+    private final MongoTemplate mongo;
+
+    public AdminExportService(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    public StreamingResponseBody export(Kind kind, Format format, int batchSize, boolean gzip) {
+        int batch = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        return out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            Writer w = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+            if (format == Format.CSV) {
+                w.write(String.join(",", kind.columns));
+                w.write('\n');
+            }
+            // hot rows first: a row archived mid-export can then show up twice, but never goes missing
+            writeRows(w, kind, format, batch, mongo.getCollectionName(kind.type));
+            if (kind.archive != null) writeRows(w, kind, format, batch, kind.archive);
+            w.flush();
+            if (target instanceof GZIPOutputStream gz) gz.finish();
+        };
+    }
+
+    private void writeRows(Writer w, Kind kind, Format format, int batch, String collection) throws java.io.IOException {
+        Query q = new Query().with(Sort.by("id")).cursorBatchSize(batch);
+        q.fields().include(kind.properties.toArray(String[]::new));
+        try (Stream<Document> rows = mongo.query(kind.type).inCollection(collection).as(Document.class).matching(q).stream()) {
+            for (Document row : (Iterable<Document>) rows::iterator) {
+                if (format == Format.CSV) {
+                    writeCsv(w, kind.columns, row);
+                } else {
+                    w.write(row.toJson(JSON));
+                    w.write('\n');
+                }
+            }
+        }
+    }
+
+    private void writeCsv(Writer w, List<String> columns, Document row) throws java.io.IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) w.write(',');
+            w.write(csv(row.getEmbedded(Arrays.asList(columns.get(i).split("\\.")), Object.class)));
+        }
+        w.write('\n');
+    }
+
+    private static String csv(Object value) {
+        if (value == null) return "";
+        String s;
+        if (value instanceof Collection<?> c) {
+            s = c.stream().map(String::valueOf).collect(Collectors.joining("|"));
+        } else if (value instanceof java.util.Date d) {
+            s = d.toInstant().toString();
+        } else {
+            s = String.valueOf(value);
+        }
+        if ((value instanceof String || value instanceof Collection<?>) && !s.isEmpty() && "=+-@\t\r".indexOf(s.charAt(0)) >= 0) {
+            // user-entered text that a spreadsheet would run as a formula; numbers are left alone
+            return '"' + ("'" + s).replace("\"", "\"\"") + '"';
+        }
+        if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+            return '"' + s.replace("\"", "\"\"") + '"';
+        }
+        return s;
+    }
+}
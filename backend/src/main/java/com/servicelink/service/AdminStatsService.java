@@ -0,0 +1,174 @@
+package com.servicelink.service;
+
+import com.servicelink.model.Booking;
+import com.servicelink.model.ServiceCategory;
+import com.servicelink.model.ServiceListing;
+import com.servicelink.model.User;
+import com.servicelink.model.UserCounters;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin dashboard numbers without scanning users. User totals come from a counter document
+ * maintained with $inc on register/toggle and reconciled by one $facet aggregation on a schedule;
+ * the other totals are collection metadata counts. Results are cached briefly.
+ */
+@Service
+public class AdminStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminStatsService.class);
+
+    private final MongoTemplate mongo;
+    private final BookingArchiveService archive;
+
+    @Value("${app.stats.cache-ms:5000}")
+    private long cacheMs;
+
+    private volatile Map<String, Object> cached;
+    private volatile long cachedAt;
+
+    public AdminStatsService(MongoTemplate mongo, BookingArchiveService archive) {
+        this.mongo = mongo;
+        this.archive = archive;
+    }
+
+    public void onUserCreated(User u) {
+        Update inc = new Update().inc("total", 1);
+        if (u.isActive()) inc.inc("active", 1);
+        if (hasRole(u, "ROLE_PROVIDER")) inc.inc("providers", 1);
+        if (hasRole(u, "ROLE_USER")) inc.inc("customers", 1);
+        bump(inc);
+    }
+
+    public void onActiveChanged(boolean nowActive) {
+        adjustActive(nowActive ? 1 : -1);
+    }
+
+    public void adjustActive(long delta) {
+        if (delta != 0) bump(new Update().inc("active", delta));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> body = cached;
+        if (body != null && System.currentTimeMillis() - cachedAt < cacheMs) return body;
+
+        UserCounters users = mongo.findById(UserCounters.ID, UserCounters.class);
+        if (users == null) users = reconcile();
+        long totalListings = mongo.estimatedCount(ServiceListing.class);
+        long archivedBookings = archive.archivedBookingCount();
+
+        body = new HashMap<>();
+        body.put("totalUsers", users.getTotal());
+        body.put("activeUsers", users.getActive());
+        body.put("disabledUsers", users.getTotal() - users.getActive());
+        body.put("totalProviders", users.getProviders());
+        body.put("totalCustomers", users.getCustomers());
+        body.put("totalListings", totalListings);
+        body.put("activeListings", totalListings); // no active flag available
+        body.put("totalCategories", mongo.estimatedCount(ServiceCategory.class));
+        body.put("totalBookings", mongo.estimatedCount(Booking.class) + archivedBookings);
+        body.put("archivedBookings", archivedBookings);
+        cached = body;
+        cachedAt = System.currentTimeMillis();
+        return body;
+    }
+
+    /**
+     * Recounts users with a single $facet pass and overwrites the counter document, unless an $inc
+     * landed while counting (the version moved): that write may or may not be in the count, so the
+     * pass is repeated rather than losing or doubling it.
+     */
+    @Scheduled(initialDelayString = "${app.stats.reconcile-initial-delay-ms:600000}",
+            fixedDelayString = "${app.stats.reconcile-interval-ms:600000}")
+    public UserCounters reconcile() {
+        UserCounters c = null;
+        for (int attempt = 0; attempt < 3; attempt++) {
+            UserCounters before = mongo.findById(UserCounters.ID, UserCounters.class);
+            c = count();
+            if (before == null) {
+                try {
+                    mongo.insert(c);
+                } catch (DuplicateKeyException e) {
+                    continue; // first $inc created it meanwhile
+                }
+            } else {
+                Update set = new Update()
+                        .set("total", c.getTotal())
+                        .set("active", c.getActive())
+                        .set("providers", c.getProviders())
+                        .set("customers", c.getCustomers())
+                        .inc("version", 1);
+                Query unchanged = new Query(Criteria.where("id").is(UserCounters.ID).and("version").is(before.getVersion()));
+                if (mongo.updateFirst(unchanged, set, UserCounters.class).getMatchedCount() == 0) continue;
+            }
+            cached = null;
+            log.debug("Reconciled user counters: {} users", c.getTotal());
+            return c;
+        }
+        log.info("User counters kept changing during reconciliation; retrying on the next run");
+        return c;
+    }
+
+    private UserCounters count() {
+        TypedAggregation<User> agg = Aggregation.newAggregation(User.class,
+                Aggregation.facet(Aggregation.count().as("n")).as("total")
+                        .and(Aggregation.match(Criteria.where("active").is(true)), Aggregation.count().as("n")).as("active")
+                        .and(Aggregation.match(Criteria.where("roleNames").is("ROLE_PROVIDER")), Aggregation.count().as("n")).as("providers")
+                        .and(Aggregation.match(Criteria.where("roleNames").is("ROLE_USER")), Aggregation.count().as("n")).as("customers"));
+        Document row = mongo.aggregate(agg, Document.class).getUniqueMappedResult();
+        UserCounters c = new UserCounters();
+        if (row != null) {
+            c.setTotal(facetCount(row, "total"));
+            c.setActive(facetCount(row, "active"));
+            c.setProviders(facetCount(row, "providers"));
+            c.setCustomers(facetCount(row, "customers"));
+        }
+        return c;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("User counter reconciliation failed", e);
+        }
+    }
+
+    private void bump(Update inc) {
+        inc.inc("version", 1);
+        mongo.findAndModify(new Query(Criteria.where("id").is(UserCounters.ID)), inc,
+                FindAndModifyOptions.options().upsert(true), UserCounters.class);
+        cached = null;
+    }
+
+    private static boolean hasRole(User u, String role) {
+        return u.getRoleNames() != null && u.getRoleNames().contains(role);
+    }
+
+    private static long facetCount(Document row, String facet) {
+        List<?> list = row.get(facet, List.class);
+        if (list == null || list.isEmpty()) return 0;
+        return ((Number) ((Document) list.get(0)).get("n")).longValue();
+    }
+}
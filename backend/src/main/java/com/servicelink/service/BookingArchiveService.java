@@ -0,0 +1,196 @@
+package com.servicelink.service;
+
+import com.servicelink.model.Booking;
+import com.servicelink.model.BookingStatus;
+import com.servicelink.model.Message;
+import com.servicelink.model.Review;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves old COMPLETED/CANCELLED bookings, together with their messages and reviews,
+ * into *_archive collections so the hot collections (and their indexes) stay small.
+ * Each batch is copied to the archive before it is removed from the hot set, so an
+ * interrupted run is simply repeated on the next tick.
+ */
+@Service
+public class BookingArchiveService {
+
+    public static final String BOOKINGS_ARCHIVE = "bookings_archive";
+    public static final String MESSAGES_ARCHIVE = "messages_archive";
+    public static final String REVIEWS_ARCHIVE = "reviews_archive";
+
+    private static final Logger log = LoggerFactory.getLogger(BookingArchiveService.class);
+    private static final List<BookingStatus> TERMINAL = List.of(BookingStatus.COMPLETED, BookingStatus.CANCELLED);
+
+    private final MongoTemplate mongo;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+    @Value("${app.archive.after-days:180}")
+    private long afterDays;
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+    @Value("${app.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+    @Value("${app.archive.pause-ms:200}")
+    private long pauseMs;
+
+    public BookingArchiveService(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    @Scheduled(initialDelayString = "${app.archive.initial-delay-ms:300000}",
+            fixedDelayString = "${app.archive.interval-ms:3600000}")
+    public void scheduledRun() {
+        if (!enabled) return;
+        archiveOldBookings();
+    }
+
+    /**
+     * Archives terminal bookings scheduled before the cut-off in throttled batches.
+     * Returns the number of bookings moved.
+     */
+    public int archiveOldBookings() {
+        if (!running.compareAndSet(false, true)) return 0;
+        int moved = 0;
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Query q = new Query(Criteria.where("status").in(TERMINAL).and("scheduledAt").lt(cutoff))
+                        .with(Sort.by(Sort.Direction.ASC, "scheduledAt"))
+                        .limit(batchSize);
+                q.fields().include("id");
+                List<Object> ids = mongo.find(q, Booking.class).stream().map(b -> (Object) b.getId()).toList();
+                if (ids.isEmpty()) break;
+
+                moveBatch(ids);
+                moved += ids.size();
+                if (ids.size() < batchSize) break;
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.set(false);
+        }
+        if (moved > 0) log.info("Archived {} bookings", moved);
+        return moved;
+    }
+
+    private void moveBatch(List<Object> bookingIds) {
+        List<Object> messageIds = childIds(Message.class, bookingIds);
+        List<Object> reviewIds = childIds(Review.class, bookingIds);
+
+        // copy children first and delete the booking last, so a crash never orphans archived rows
+        copy(mongo.getCollectionName(Message.class), MESSAGES_ARCHIVE, messageIds);
+        copy(mongo.getCollectionName(Review.class), REVIEWS_ARCHIVE, reviewIds);
+        copy(mongo.getCollectionName(Booking.class), BOOKINGS_ARCHIVE, bookingIds);
+
+        mongo.remove(byIds(messageIds), Message.class);
+        mongo.remove(byIds(reviewIds), Review.class);
+        mongo.remove(byIds(bookingIds), Booking.class);
+    }
+
+    private List<Object> childIds(Class<?> type, List<Object> bookingIds) {
+        Query q = new Query(Criteria.where("booking.id").in(bookingIds));
+        q.fields().include("id");
+        // map the query through the entity (booking may be embedded or a reference), read raw ids back
+        return mongo.query(type).as(Document.class).matching(q).all().stream()
+                .map(d -> d.get("_id"))
+                .toList();
+    }
+
+    private void copy(String from, String to, List<Object> ids) {
+        if (ids.isEmpty()) return;
+        List<Document> docs = mongo.find(byIds(ids), Document.class, from);
+        mongo.remove(byIds(ids), to); // makes a repeated batch idempotent
+        mongo.insert(docs, to);
+    }
+
+    private Query byIds(List<Object> ids) {
+        return new Query(Criteria.where("_id").in(ids));
+    }
+
+    /** Looks up a booking that is no longer in the hot collection. */
+    public Optional<Booking> findArchived(Long id) {
+        return Optional.ofNullable(mongo.findById(id, Booking.class, BOOKINGS_ARCHIVE));
+    }
+
+    /** A customer's or provider's archived bookings, newest first. */
+    public List<Booking> findArchivedFor(Long userId, boolean asProvider, long skip, int limit) {
+        Query q = new Query(participant(userId, asProvider))
+                .with(Sort.by(Sort.Order.desc("scheduledAt"), Sort.Order.desc("id")))
+                .skip(skip)
+                .limit(limit);
+        return mongo.find(q, Booking.class, BOOKINGS_ARCHIVE);
+    }
+
+    public long countArchivedFor(Long userId, boolean asProvider) {
+        return mongo.count(new Query(participant(userId, asProvider)), Booking.class, BOOKINGS_ARCHIVE);
+    }
+
+    private Criteria participant(Long userId, boolean asProvider) {
+        if (!asProvider) return Criteria.where("customer.id").is(userId);
+        // rows archived before the provider id backfill only carry the listing owner
+        return new Criteria().orOperator(Criteria.where("providerId").is(userId), Criteria.where("listing.owner.id").is(userId));
+    }
+
+    public long archivedBookingCount() {
+        return mongo.estimatedCount(BOOKINGS_ARCHIVE);
+    }
+
+    /** Hot collection names mapped to their archive collections. */
+    public Map<String, String> archiveCollections() {
+        Map<String, String> pairs = new LinkedHashMap<>();
+        pairs.put(mongo.getCollectionName(Booking.class), BOOKINGS_ARCHIVE);
+        pairs.put(mongo.getCollectionName(Message.class), MESSAGES_ARCHIVE);
+        pairs.put(mongo.getCollectionName(Review.class), REVIEWS_ARCHIVE);
+        return pairs;
+    }
+
+    /** Estimated document count from collection metadata, without a scan. */
+    public long estimatedCount(String collection) {
+        return mongo.estimatedCount(collection);
+    }
+
+    /** Document counts and data/index sizes of the hot and archive collections. */
+    public Map<String, Object> workingSetStats() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        archiveCollections().forEach((hot, archive) -> {
+            body.put(hot, collectionStats(hot));
+            body.put(archive, collectionStats(archive));
+        });
+        return body;
+    }
+
+    private Map<String, Object> collectionStats(String name) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        if (!mongo.collectionExists(name)) {
+            out.put("count", 0L);
+            return out;
+        }
+        Document stats = mongo.executeCommand(new Document("collStats", name));
+        out.put("count", stats.get("count"));
+        out.put("dataSize", stats.get("size"));
+        out.put("storageSize", stats.get("storageSize"));
+        out.put("totalIndexSize", stats.get("totalIndexSize"));
+        return out;
+    }
+}
@@ -0,0 +1,333 @@
+package com.servicelink.service;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.servicelink.config.WorkerThreads;
+import com.servicelink.model.Booking;
+import com.servicelink.model.BookingStatus;
+import com.servicelink.model.BookingTimer;
+import com.servicelink.model.PaymentStatus;
+import com.servicelink.model.User;
+import com.servicelink.repository.BookingTimerRepository;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires booking reminders and expires unpaid PENDING bookings.
+ * <p>
+ * Due times live in the {@code booking_timers} collection; only the timers due within the next
+ * {@code app.timers.horizon-ms} are held in memory, in a {@link HierarchicalTimingWheel}. A loader walks the
+ * (dueAt, _id) index one window at a time, so nothing ever scans the bookings collection. Firing claims the
+ * timer by deleting it (matching on dueAt), which makes it safe with several nodes and ignores stale entries
+ * left behind by a reschedule.
+ */
+@Service
+public class BookingTimerService {
+
+    /**
+     * Published when a booking's reminder comes due. Delivering it (mail, push) is out of scope: the tree
+     * has no notification channel yet, so for now reminders are only logged. A channel subscribes to this
+     * event with {@code @EventListener} and gets the multi-node firing guarantee for free.
+     */
+    public record ReminderDue(Long bookingId, LocalDateTime scheduledAt) {}
+
+    private static final Logger log = LoggerFactory.getLogger(BookingTimerService.class);
+    private static final String MARKERS = "startup_markers";
+    private static final String BACKFILL_DONE = "booking-timers-backfill";
+    private static final int COMMIT_RETRIES = 5;
+
+    private final BookingTimerRepository timers;
+    private final MongoTemplate mongo;
+    private final ApplicationEventPublisher events;
+    private final BookingService bookings;
+
+    @Value("${app.timers.enabled:true}")
+    private boolean enabled;
+    @Value("${app.timers.tick-ms:1000}")
+    private long tickMs;
+    @Value("${app.timers.horizon-ms:3600000}")
+    private long horizonMs;
+    @Value("${app.timers.load-batch-size:1000}")
+    private int loadBatchSize;
+    @Value("${app.timers.reminder-lead-minutes:60}")
+    private long reminderLeadMinutes;
+    @Value("${app.timers.pending-ttl-minutes:1440}")
+    private long pendingTtlMinutes;
+
+    private final Object lock = new Object();
+    private final Map<String, HierarchicalTimingWheel.Timeout<BookingTimer>> inWheel = new HashMap<>(); // guarded by lock
+    private HierarchicalTimingWheel<BookingTimer> wheel; // guarded by lock
+    private volatile long loadedUntil = Long.MIN_VALUE; // timers due before this are in the wheel
+    private Date nextWindowStart = new Date(0);
+
+    private ScheduledExecutorService ticker;
+    private ExecutorService workers;
+
+    private final WorkerThreads threads;
+
+    public BookingTimerService(BookingTimerRepository timers, MongoTemplate mongo, ApplicationEventPublisher events,
+                               BookingService bookings, WorkerThreads threads) {
+        this.timers = timers;
+        this.mongo = mongo;
+        this.events = events;
+        this.bookings = bookings;
+        this.threads = threads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        synchronized (lock) {
+            // 4 levels of 256 slots: one-second ticks cover ~136 years before overflow
+            wheel = new HierarchicalTimingWheel<>(tickMs, 8, 4, System.currentTimeMillis());
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "booking-timers"));
+        workers = Executors.newFixedThreadPool(2, threads.named("booking-timer-worker"));
+        // off the ticker thread: the backfill streams every open booking, ticks must keep firing meanwhile
+        workers.execute(this::backfillIfEmpty);
+        ticker.scheduleWithFixedDelay(this::loadNextWindow, 0, Math.max(horizonMs / 2, tickMs), TimeUnit.MILLISECONDS);
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) ticker.shutdownNow();
+        if (workers != null) workers.shutdown();
+    }
+
+    /**
+     * Re-derives the reminder and expiry timers of a booking after it was created, paid,
+     * rescheduled or changed status.
+     */
+    public void onBookingChanged(Booking b) {
+        if (b == null || b.getId() == null) return;
+        BookingStatus status = b.getStatus();
+        if (status == BookingStatus.COMPLETED || status == BookingStatus.CANCELLED) {
+            cancelAll(b.getId());
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (b.getScheduledAt() != null && b.getScheduledAt().minusMinutes(reminderLeadMinutes).isAfter(now)) {
+            schedule(b.getId(), BookingTimer.Type.REMINDER, b.getScheduledAt().minusMinutes(reminderLeadMinutes));
+        } else {
+            cancel(b.getId(), BookingTimer.Type.REMINDER);
+        }
+        if (status == BookingStatus.PENDING && b.getPaymentStatus() == PaymentStatus.UNPAID) {
+            LocalDateTime created = b.getCreatedAt() != null ? b.getCreatedAt() : now;
+            schedule(b.getId(), BookingTimer.Type.PENDING_EXPIRY, created.plusMinutes(pendingTtlMinutes));
+        } else {
+            cancel(b.getId(), BookingTimer.Type.PENDING_EXPIRY);
+        }
+    }
+
+    /**
+     * {@link #onBookingChanged} for callers whose booking write has already committed, such as an idempotent
+     * create whose response is about to be cached: a failure to store the timers is retried from the stored
+     * booking instead of failing a request that did happen.
+     */
+    public void onBookingCommitted(Booking b) {
+        try {
+            onBookingChanged(b);
+        } catch (RuntimeException e) {
+            log.warn("Could not update the timers of booking {}; retrying", b.getId(), e);
+            retryLater(b.getId(), 1);
+        }
+    }
+
+    private void retryLater(Long bookingId, int attempt) {
+        if (ticker == null || ticker.isShutdown() || attempt > COMMIT_RETRIES) {
+            log.error("Giving up on the timers of booking {}; it will not be reminded or expired", bookingId);
+            return;
+        }
+        ticker.schedule(() -> workers.execute(() -> {
+            try {
+                onBookingChanged(mongo.findById(bookingId, Booking.class)); // re-read: the booking may have moved on
+            } catch (RuntimeException e) {
+                retryLater(bookingId, attempt + 1);
+            }
+        }), 5L * attempt, TimeUnit.SECONDS);
+    }
+
+    public void cancelAll(Long bookingId) {
+        timers.deleteByBookingId(bookingId);
+        synchronized (lock) {
+            for (BookingTimer.Type type : BookingTimer.Type.values()) {
+                unschedule(BookingTimer.key(bookingId, type));
+            }
+        }
+    }
+
+    public int pendingInMemory() {
+        synchronized (lock) {
+            return wheel == null ? 0 : wheel.size();
+        }
+    }
+
+    private void schedule(Long bookingId, BookingTimer.Type type, LocalDateTime dueAt) {
+        BookingTimer t = timers.save(new BookingTimer(bookingId, type, toDate(dueAt)));
+        if (t.getDueAt().getTime() < loadedUntil) {
+            enqueue(t);
+        } else {
+            synchronized (lock) {
+                unschedule(t.getId()); // moved out past the loaded horizon
+            }
+        }
+    }
+
+    private void cancel(Long bookingId, BookingTimer.Type type) {
+        String id = BookingTimer.key(bookingId, type);
+        timers.deleteById(id);
+        synchronized (lock) {
+            unschedule(id);
+        }
+    }
+
+    private void enqueue(BookingTimer t) {
+        synchronized (lock) {
+            if (wheel == null) return;
+            unschedule(t.getId());
+            inWheel.put(t.getId(), wheel.schedule(t.getDueAt().getTime(), t));
+        }
+    }
+
+    private void unschedule(String id) {
+        HierarchicalTimingWheel.Timeout<BookingTimer> previous = inWheel.remove(id);
+        if (previous != null) wheel.cancel(previous);
+    }
+
+    private void tick() {
+        List<BookingTimer> due;
+        synchronized (lock) {
+            due = wheel.advanceTo(System.currentTimeMillis());
+            due.forEach(t -> inWheel.remove(t.getId()));
+        }
+        for (BookingTimer t : due) {
+            workers.execute(() -> fire(t));
+        }
+    }
+
+    /** Pulls the next horizon window of due times from the (dueAt, _id) index into the wheel. */
+    private void loadNextWindow() {
+        try {
+            Date until = new Date(System.currentTimeMillis() + horizonMs);
+            Date from = nextWindowStart;
+            loadedUntil = until.getTime(); // from here on new timers in the window go straight to the wheel
+            Date lastDue = null;
+            String lastId = null;
+            int loaded = 0;
+            while (true) {
+                Criteria window = lastDue == null
+                        ? Criteria.where("dueAt").gte(from).lt(until)
+                        : new Criteria().orOperator(
+                                Criteria.where("dueAt").gt(lastDue).lt(until),
+                                Criteria.where("dueAt").is(lastDue).and("_id").gt(lastId));
+                Query q = new Query(window)
+                        .with(Sort.by(Sort.Order.asc("dueAt"), Sort.Order.asc("_id")))
+                        .limit(loadBatchSize);
+                List<BookingTimer> page = mongo.find(q, BookingTimer.class);
+                page.forEach(this::enqueue);
+                loaded += page.size();
+                if (page.size() < loadBatchSize) break;
+                BookingTimer last = page.get(page.size() - 1);
+                lastDue = last.getDueAt();
+                lastId = last.getId();
+            }
+            nextWindowStart = until;
+            if (loaded > 0) log.debug("Loaded {} booking timers due before {}", loaded, until);
+        } catch (RuntimeException e) {
+            log.warn("Loading booking timers failed", e);
+        }
+    }
+
+    private void fire(BookingTimer t) {
+        try {
+            if (timers.deleteByIdAndDueAt(t.getId(), t.getDueAt()) == 0) {
+                // claimed by another node, or moved by a reschedule that raced the loader
+                timers.findById(t.getId())
+                        .filter(current -> current.getDueAt().getTime() < loadedUntil)
+                        .ifPresent(this::enqueue);
+                return;
+            }
+            switch (t.getType()) {
+                case REMINDER -> {
+                    Booking b = mongo.findById(t.getBookingId(), Booking.class);
+                    if (b != null && b.getStatus() != BookingStatus.CANCELLED && b.getStatus() != BookingStatus.COMPLETED) {
+                        log.info("Reminder due for booking {} scheduled at {}", b.getId(), b.getScheduledAt());
+                        events.publishEvent(new ReminderDue(b.getId(), b.getScheduledAt()));
+                    }
+                }
+                case PENDING_EXPIRY -> {
+                    Booking b = mongo.findById(t.getBookingId(), Booking.class);
+                    if (b != null && b.getStatus() == BookingStatus.PENDING && b.getPaymentStatus() == PaymentStatus.UNPAID
+                            && b.getCustomer() != null) {
+                        // through the service, as the customer withdrawing the booking, so everything that
+                        // follows a status change runs for expiries too
+                        User customer = mongo.findById(b.getCustomer().getId(), User.class);
+                        Booking cancelled = bookings.changeStatus(b.getId(), BookingStatus.CANCELLED, customer);
+                        log.info("Expired unpaid pending booking {}", t.getBookingId());
+                        onBookingChanged(cancelled);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Booking timer {} failed", t.getId(), e);
+        }
+    }
+
+    /**
+     * First start after upgrading: derive timers for open bookings once, via the (status, scheduledAt) index.
+     * Done is recorded in {@code startup_markers}; an empty timers collection alone only means every timer
+     * has fired. Nodes racing here derive the same timers, which is harmless.
+     */
+    private void backfillIfEmpty() {
+        try {
+            MongoCollection<Document> markers = mongo.getCollection(MARKERS);
+            if (markers.find(Filters.eq("_id", BACKFILL_DONE)).first() != null) return;
+            // timers written by an earlier version predate the marker but mean the backfill already ran
+            if (mongo.estimatedCount(BookingTimer.class) == 0) {
+                Query q = new Query(Criteria.where("status").in(BookingStatus.PENDING, BookingStatus.CONFIRMED));
+                try (var open = mongo.stream(q, Booking.class)) {
+                    open.forEach(this::onBookingChanged);
+                }
+            }
+            markers.replaceOne(Filters.eq("_id", BACKFILL_DONE),
+                    new Document("_id", BACKFILL_DONE).append("at", new Date()),
+                    new ReplaceOptions().upsert(true));
+        } catch (RuntimeException e) {
+            log.warn("Booking timer backfill failed", e);
+        }
+    }
+
+    private static Date toDate(LocalDateTime t) {
+        return Date.from(t.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+}
@@ -0,0 +1,65 @@
+package com.servicelink.service;
+
+import com.servicelink.model.ServiceCategory;
+import com.servicelink.model.ServiceListing;
+import com.servicelink.model.User;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evicts cached users, listings and categories after every template or repository save and
+ * delete. Partial updates ({@code updateFirst}/{@code updateMulti}) raise no events; code issuing
+ * them on these collections calls {@link NodeCaches#evict} itself.
+ */
+@Component
+public class CacheEvictionListener extends AbstractMongoEventListener<Object> {
+
+    private final ObjectProvider<NodeCaches> caches; // lazy: listeners are created before most services
+
+    public CacheEvictionListener(ObjectProvider<NodeCaches> caches) {
+        this.caches = caches;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Object id = event.getDocument() != null ? event.getDocument().get("_id") : null;
+        String cache = cacheFor(event.getSource().getClass());
+        if (cache != null) caches.getObject().evict(cache, ids(id));
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        String cache = cacheFor(event.getType());
+        if (cache != null) caches.getObject().evict(cache, ids(event.getSource().get("_id")));
+    }
+
+    private static String cacheFor(Class<?> type) {
+        if (type == null) return null;
+        if (User.class.isAssignableFrom(type)) return NodeCaches.USERS;
+        if (ServiceListing.class.isAssignableFrom(type)) return NodeCaches.LISTINGS;
+        if (ServiceCategory.class.isAssignableFrom(type)) return NodeCaches.CATEGORIES;
+        return null;
+    }
+
+    /** Ids from an {@code _id} value or {@code {$in: [...]}}; null (evict everything) for any other filter. */
+    private static Collection<Long> ids(Object id) {
+        if (id instanceof Number n) return List.of(n.longValue());
+        if (id instanceof Document d && d.size() == 1 && d.get("$in") instanceof Collection<?> in) {
+            List<Long> out = new ArrayList<>(in.size());
+            for (Object o : in) {
+                if (!(o instanceof Number n)) return null;
+                out.add(n.longValue());
+            }
+            return out;
+        }
+        return null;
+    }
+}
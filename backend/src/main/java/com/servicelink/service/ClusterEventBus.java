@@ -0,0 +1,182 @@
+package com.servicelink.service;
+
+import com.mongodb.CursorType;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Small node-to-node broadcast bus over a capped Mongo collection. Every node tails the collection
+ * with a tailable-await cursor and hands events from other nodes to local subscribers; a node never
+ * receives its own events, those are delivered locally by the publisher.
+ *
+ * <p>Events carry a {@code seq} from the {@code cluster_events} sequence. Insertion order, which the
+ * cursor follows, can differ from that order when two nodes publish at once, so a reopened cursor
+ * resumes from the highest seq below which nothing is missing and skips the events it already saw.
+ */
+@Service
+public class ClusterEventBus {
+
+    public static final String COLLECTION = "cluster_events";
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterEventBus.class);
+    /** A seq not seen this long after a higher one was never inserted (its publish failed). */
+    private static final long GAP_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final MongoTemplate mongo;
+    private final SequenceGeneratorService sequences;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<Document>>> listeners = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private Thread tailer;
+    // tailer thread only: every seq <= floor was handled; ahead holds handled seqs above it
+    private long floor;
+    private final TreeMap<Long, Long> ahead = new TreeMap<>();
+
+    @Value("${app.bus.enabled:true}")
+    private boolean enabled;
+    @Value("${app.bus.capped-size-bytes:16777216}")
+    private long cappedSizeBytes;
+
+    public ClusterEventBus(MongoTemplate mongo, SequenceGeneratorService sequences) {
+        this.mongo = mongo;
+        this.sequences = sequences;
+    }
+
+    public void subscribe(String topic, Consumer<Document> listener) {
+        listeners.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public void publish(String topic, Document payload) {
+        if (!enabled) return;
+        try {
+            mongo.getCollection(COLLECTION).insertOne(new Document("seq", sequences.generateSequence(COLLECTION))
+                    .append("topic", topic)
+                    .append("node", nodeId)
+                    .append("at", new Date())
+                    .append("payload", payload));
+        } catch (MongoException e) {
+            // other nodes miss this event; local delivery already happened
+            log.warn("Cluster event publish failed for topic {}", topic, e);
+        }
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        if (!mongo.collectionExists(COLLECTION)) {
+            try {
+                mongo.createCollection(COLLECTION, CollectionOptions.empty().capped().size(cappedSizeBytes));
+            } catch (MongoException e) {
+                // another node created it first
+            }
+        }
+        running = true;
+        tailer = new Thread(this::tail, "cluster-event-tailer");
+        tailer.setDaemon(true);
+        tailer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (tailer != null) tailer.interrupt();
+    }
+
+    private void tail() {
+        MongoCollection<Document> events = mongo.getCollection(COLLECTION);
+        Document newest = events.find(Filters.exists("seq")).sort(new Document("seq", -1)).first();
+        floor = newest != null ? newest.get("seq", Number.class).longValue() : 0;
+        while (running) {
+            // a tailable cursor dies when nothing matches yet, so it is simply reopened
+            try (MongoCursor<Document> cursor = events.find(Filters.gt("seq", floor))
+                    .cursorType(CursorType.TailableAwait)
+                    .maxAwaitTime(1, TimeUnit.SECONDS)
+                    .iterator()) {
+                while (running) {
+                    Document event = cursor.tryNext();
+                    if (event == null) {
+                        if (cursor.getServerCursor() == null) break;
+                        expireGaps();
+                        continue;
+                    }
+                    if (firstSighting(event.get("seq", Number.class).longValue())
+                            && !nodeId.equals(event.getString("node"))) {
+                        dispatch(event);
+                    }
+                }
+            } catch (MongoException e) {
+                if (running) log.warn("Cluster event tail interrupted, reopening", e);
+            }
+            pause();
+        }
+    }
+
+    private boolean firstSighting(long seq) {
+        if (seq <= floor || ahead.putIfAbsent(seq, System.nanoTime()) != null) return false;
+        advanceFloor();
+        expireGaps();
+        return true;
+    }
+
+    private void advanceFloor() {
+        while (!ahead.isEmpty() && ahead.firstKey() == floor + 1) {
+            floor = ahead.pollFirstEntry().getKey();
+        }
+    }
+
+    private void expireGaps() {
+        long now = System.nanoTime();
+        while (!ahead.isEmpty() && now - ahead.firstEntry().getValue() > GAP_TIMEOUT_NANOS) {
+            floor = ahead.pollFirstEntry().getKey();
+            advanceFloor();
+        }
+    }
+
+    private void dispatch(Document event) {
+        List<Consumer<Document>> subs = listeners.get(event.getString("topic"));
+        if (subs == null) return;
+        Document payload = event.get("payload", Document.class);
+        for (Consumer<Document> l : subs) {
+            try {
+                l.accept(payload);
+            } catch (RuntimeException e) {
+                log.warn("Cluster event listener failed", e);
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
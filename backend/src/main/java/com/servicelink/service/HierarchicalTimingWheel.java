@@ -0,0 +1,165 @@
+package com.servicelink.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed hierarchical timing wheel (Varghese &amp; Lauck). Each level has {@code 2^bits} slots; a slot on
+ * level L spans {@code tickMs * 2^(bits*L)} ms. Timers go to the lowest level whose higher digits match the
+ * current tick and cascade down one level each time the lower level wraps. Insert and cancel are O(1);
+ * each timer is touched at most once per level before it fires.
+ * <p>
+ * Not thread-safe on its own: callers serialize access (see {@link BookingTimerService}).
+ */
+public class HierarchicalTimingWheel<T> {
+
+    public static final class Timeout<T> {
+        private final long deadlineTick;
+        private final T payload;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private Slot<T> slot;
+
+        private Timeout(long deadlineTick, T payload) {
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+
+        public T payload() { return payload; }
+        public boolean isPending() { return slot != null; }
+    }
+
+    /** Intrusive doubly-linked list so a timer can unlink itself without a search. */
+    private static final class Slot<T> {
+        private final Timeout<T> head = new Timeout<>(0, null);
+
+        Slot() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        void add(Timeout<T> t) {
+            t.slot = this;
+            t.prev = head.prev;
+            t.next = head;
+            head.prev.next = t;
+            head.prev = t;
+        }
+
+        void remove(Timeout<T> t) {
+            t.prev.next = t.next;
+            t.next.prev = t.prev;
+            t.prev = null;
+            t.next = null;
+            t.slot = null;
+        }
+
+        List<Timeout<T>> drain() {
+            List<Timeout<T>> out = new ArrayList<>();
+            for (Timeout<T> t = head.next; t != head; ) {
+                Timeout<T> next = t.next;
+                remove(t);
+                out.add(t);
+                t = next;
+            }
+            return out;
+        }
+    }
+
+    private final long tickMs;
+    private final int bits;
+    private final int mask;
+    private final Slot<T>[][] levels;
+    private final Slot<T> overdue = new Slot<>();
+    private final Slot<T> beyondRange = new Slot<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, int bits, int levelCount, long startMs) {
+        if (tickMs <= 0 || bits <= 0 || levelCount <= 0 || (long) bits * levelCount >= 63) {
+            throw new IllegalArgumentException("Invalid timing wheel geometry");
+        }
+        this.tickMs = tickMs;
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.levels = new Slot[levelCount][1 << bits];
+        for (Slot<T>[] level : levels) {
+            for (int i = 0; i < level.length; i++) level[i] = new Slot<>();
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    public Timeout<T> schedule(long deadlineMs, T payload) {
+        Timeout<T> t = new Timeout<>(Math.floorDiv(deadlineMs, tickMs), payload);
+        place(t);
+        size++;
+        return t;
+    }
+
+    public boolean cancel(Timeout<T> t) {
+        if (t == null || t.slot == null) return false;
+        t.slot.remove(t);
+        size--;
+        return true;
+    }
+
+    /** Advances the wheel to {@code nowMs} and returns the payloads of every timer that came due. */
+    public List<T> advanceTo(long nowMs) {
+        List<T> due = new ArrayList<>();
+        collect(overdue, due);
+        long target = Math.floorDiv(nowMs, tickMs);
+        while (currentTick < target) {
+            currentTick++;
+            cascade();
+            collect(levels[0][(int) (currentTick & mask)], due);
+            collect(overdue, due); // timers cascaded straight onto the current tick
+        }
+        return due;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long currentTimeMs() {
+        return currentTick * tickMs;
+    }
+
+    private void place(Timeout<T> t) {
+        if (t.deadlineTick <= currentTick) {
+            overdue.add(t);
+            return;
+        }
+        for (int level = 0; level < levels.length; level++) {
+            int shift = bits * (level + 1);
+            if ((t.deadlineTick >>> shift) == (currentTick >>> shift)) {
+                levels[level][(int) ((t.deadlineTick >>> (bits * level)) & mask)].add(t);
+                return;
+            }
+        }
+        beyondRange.add(t);
+    }
+
+    /** Re-distributes the slots of every level whose lower digits just wrapped to zero. */
+    private void cascade() {
+        int top = 0;
+        while (top + 1 < levels.length && ((currentTick >>> (bits * (top + 1))) << (bits * (top + 1))) == currentTick) {
+            top++;
+        }
+        if (top + 1 == levels.length && (currentTick & ((1L << (bits * levels.length)) - 1)) == 0) {
+            beyondRange.drain().forEach(this::place);
+        }
+        for (int level = top; level >= 1; level--) {
+            Slot<T> slot = levels[level][(int) ((currentTick >>> (bits * level)) & mask)];
+            slot.drain().forEach(this::place);
+        }
+    }
+
+    private void collect(Slot<T> slot, List<T> due) {
+        for (Timeout<T> t : slot.drain()) {
+            size--;
+            due.add(t.payload);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.servicelink.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicelink.model.IdempotencyRecord;
+import com.servicelink.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Makes retried POSTs safe: the first execution for an {@code Idempotency-Key} stores its response,
+ * later requests with the same key get that response back without running the action again.
+ * Concurrent duplicates on this node wait for the in-flight execution; duplicates on another node
+ * see the IN_PROGRESS record and get 409 until the first one finishes.
+ * <p>
+ * An IN_PROGRESS marker is never taken over: its owner may still be running (or may have created the
+ * booking and then failed to store the response), so running the action again could duplicate it.
+ * A marker whose owner died keeps answering 409 until it expires after {@code app.idempotency.ttl-seconds}.
+ * <p>
+ * A failing action releases the key so the client can retry, so an action must not throw once its write
+ * has committed: side effects after that point handle their own failures.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int COMPLETE_ATTEMPTS = 3;
+
+    private final IdempotencyRecordRepository records;
+    private final ObjectMapper objectMapper;
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${app.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${app.idempotency.lock-seconds:30}")
+    private long lockSeconds;
+
+    public IdempotencyService(IdempotencyRecordRepository records, ObjectMapper objectMapper) {
+        this.records = records;
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> ResponseEntity<T> execute(String key, String scope, Long userId, Object request,
+                                         Class<T> responseType, Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > 255) {
+            throw new IllegalArgumentException(HEADER + " must be at most 255 characters");
+        }
+        String id = userId + ":" + scope + ":" + key;
+        String fingerprint = fingerprint(request);
+
+        CompletableFuture<IdempotencyRecord> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            return replayWhenDone(running, fingerprint, responseType);
+        }
+        try {
+            Optional<IdempotencyRecord> existing = claim(id, fingerprint);
+            if (existing.isPresent()) {
+                IdempotencyRecord rec = existing.get();
+                mine.complete(rec);
+                return replay(rec, fingerprint, responseType);
+            }
+            ResponseEntity<T> response;
+            try {
+                response = action.get();
+            } catch (RuntimeException ex) {
+                // failed executions are not cached so the client can retry
+                records.deleteById(id);
+                mine.completeExceptionally(ex);
+                throw ex;
+            }
+            IdempotencyRecord done = complete(id, fingerprint, response);
+            if (done != null) mine.complete(done);
+            return response;
+        } finally {
+            if (!mine.isDone()) {
+                mine.completeExceptionally(new IllegalStateException("Idempotent execution aborted"));
+            }
+            inFlight.remove(id, mine);
+        }
+    }
+
+    /** Inserts an IN_PROGRESS marker, or returns the existing record when the key was already used. */
+    private Optional<IdempotencyRecord> claim(String id, String fingerprint) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Date now = new Date();
+            IdempotencyRecord rec = new IdempotencyRecord();
+            rec.setId(id);
+            rec.setStatus(IdempotencyRecord.Status.IN_PROGRESS);
+            rec.setFingerprint(fingerprint);
+            rec.setCreatedAt(now);
+            rec.setExpiresAt(new Date(now.getTime() + ttlSeconds * 1000));
+            try {
+                records.insert(rec);
+                return Optional.empty();
+            } catch (DuplicateKeyException dup) {
+                Optional<IdempotencyRecord> existing = records.findById(id);
+                if (existing.isEmpty()) {
+                    continue; // expired or released between insert and read
+                }
+                return existing;
+            }
+        }
+        throw new IllegalStateException("Could not claim idempotency key");
+    }
+
+    /**
+     * Stores the response, retrying briefly. Returns null when that keeps failing: the marker then
+     * stays IN_PROGRESS, so retries get 409 instead of executing the action a second time.
+     */
+    private IdempotencyRecord complete(String id, String fingerprint, ResponseEntity<?> response) {
+        Date now = new Date();
+        IdempotencyRecord rec = new IdempotencyRecord();
+        rec.setId(id);
+        rec.setStatus(IdempotencyRecord.Status.COMPLETED);
+        rec.setFingerprint(fingerprint);
+        rec.setResponseStatus(response.getStatusCode().value());
+        rec.setResponseBody(toJson(response.getBody()));
+        rec.setCreatedAt(now);
+        rec.setExpiresAt(new Date(now.getTime() + ttlSeconds * 1000));
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return records.save(rec);
+            } catch (DataAccessException e) {
+                if (attempt == COMPLETE_ATTEMPTS) {
+                    log.error("Action for idempotency key {} succeeded but its response could not be stored; "
+                            + "the key stays locked (409) until its marker expires", id, e);
+                    return null;
+                }
+                try {
+                    Thread.sleep(100L * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    log.error("Interrupted storing the response for idempotency key {}; the key stays locked", id);
+                    return null;
+                }
+            }
+        }
+    }
+
+    private <T> ResponseEntity<T> replayWhenDone(CompletableFuture<IdempotencyRecord> running, String fingerprint, Class<T> responseType) {
+        try {
+            return replay(running.get(lockSeconds, TimeUnit.SECONDS), fingerprint, responseType);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return inProgress();
+        } catch (ExecutionException | TimeoutException e) {
+            return inProgress();
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyRecord rec, String fingerprint, Class<T> responseType) {
+        if (rec.getFingerprint() != null && !rec.getFingerprint().equals(fingerprint)) {
+            throw new IllegalArgumentException(HEADER + " was already used for a different request");
+        }
+        if (rec.getStatus() != IdempotencyRecord.Status.COMPLETED) {
+            return inProgress();
+        }
+        T body = fromJson(rec.getResponseBody(), responseType);
+        return ResponseEntity.status(rec.getResponseStatus())
+                .header(REPLAYED_HEADER, "true")
+                .body(body);
+    }
+
+    private <T> ResponseEntity<T> inProgress() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header("Retry-After", "1")
+                .build();
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(toJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotent response", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        if (json == null) return null;
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored idempotent response", e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.servicelink.service;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.servicelink.model.Booking;
+import com.servicelink.model.InboxThread;
+import com.servicelink.model.Message;
+import com.servicelink.repository.InboxThreadRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Keeps per-participant unread counters and last-message snapshots in {@code inbox_threads}.
+ * Posting a message is one bulk write: an upsert of the counters ($inc for recipients) and a
+ * snapshot update guarded on the message id per participant. Reading the inbox is one query on
+ * (userId, lastMessageAt).
+ */
+@Service
+public class InboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(InboxService.class);
+    private static final int PREVIEW_LENGTH = 120;
+    private static final int BACKFILL_BATCH = 500;
+    private static final String MARKERS = "startup_markers";
+    private static final String BACKFILL_DONE = "inbox-threads-backfill";
+    public static final int MAX_THREADS = 200;
+
+    private final InboxThreadRepository threads;
+    private final MongoTemplate mongo;
+
+    public InboxService(InboxThreadRepository threads, MongoTemplate mongo) {
+        this.threads = threads;
+        this.mongo = mongo;
+    }
+
+    public void onMessagePosted(Booking b, Message m) {
+        Set<Long> participants = participants(b);
+        Long senderId = m.getSender() != null ? m.getSender().getId() : null;
+        String content = m.getContent() != null ? m.getContent() : "";
+        String preview = content.length() > PREVIEW_LENGTH ? content.substring(0, PREVIEW_LENGTH) : content;
+        Date sentAt = toDate(m.getSentAt());
+
+        // ordered: each thread exists before its guarded snapshot update runs
+        BulkOperations ops = mongo.bulkOps(BulkOperations.BulkMode.ORDERED, InboxThread.class);
+        for (Long userId : participants) {
+            Query thread = new Query(Criteria.where("id").is(InboxThread.key(userId, b.getId())));
+            Update counters = new Update()
+                    .setOnInsert("userId", userId)
+                    .setOnInsert("bookingId", b.getId());
+            if (userId.equals(senderId)) {
+                // the sender has obviously read the thread up to their own message
+                counters.max("lastReadMessageId", m.getId());
+            } else {
+                counters.inc("unread", 1);
+            }
+            ops.upsert(thread, counters);
+
+            // the snapshot only moves forward: a concurrent older post that lands last leaves it alone
+            Update snapshot = new Update()
+                    .set("listingTitle", b.getListing() != null ? b.getListing().getTitle() : null)
+                    .set("lastMessageId", m.getId())
+                    .set("lastSenderId", senderId)
+                    .set("lastMessagePreview", preview)
+                    .set("lastMessageAt", sentAt);
+            if (userId.equals(senderId)) snapshot.set("unread", 0);
+            ops.updateOne(Query.query(Criteria.where("id").is(InboxThread.key(userId, b.getId()))
+                    .orOperator(Criteria.where("lastMessageId").is(null), Criteria.where("lastMessageId").lt(m.getId()))), snapshot);
+        }
+        if (!participants.isEmpty()) ops.execute();
+    }
+
+    private static Set<Long> participants(Booking b) {
+        Set<Long> participants = new LinkedHashSet<>();
+        if (b.getCustomer() != null) participants.add(b.getCustomer().getId());
+        if (b.getListing() != null && b.getListing().getOwner() != null) participants.add(b.getListing().getOwner().getId());
+        if (b.getProviderId() != null) participants.add(b.getProviderId());
+        return participants;
+    }
+
+    private static Date toDate(LocalDateTime t) {
+        return t != null ? Date.from(t.atZone(ZoneId.systemDefault()).toInstant()) : new Date();
+    }
+
+    /**
+     * Marks the thread read up to {@code seenMessageId}, the newest message the client displayed.
+     * Messages after it stay unread, including ones that arrived while the thread was open.
+     */
+    public void markRead(Long userId, Long bookingId, long seenMessageId) {
+        String id = InboxThread.key(userId, bookingId);
+        for (int attempt = 0; attempt < 3; attempt++) {
+            InboxThread t = threads.findById(id).orElse(null);
+            if (t == null || t.getLastMessageId() == null) return;
+            if (t.getLastReadMessageId() != null && t.getLastReadMessageId() >= seenMessageId) return;
+            int unread = t.getLastMessageId() <= seenMessageId ? 0 : (int) mongo.count(new Query(Criteria.where("booking.id").is(bookingId)
+                    .and("id").gt(seenMessageId)
+                    .and("sender.id").ne(userId)), Message.class);
+            // applied only if no message was posted meanwhile; otherwise recount against the new state
+            long matched = mongo.updateFirst(new Query(Criteria.where("id").is(id).and("lastMessageId").is(t.getLastMessageId())),
+                    new Update().set("unread", unread).max("lastReadMessageId", seenMessageId),
+                    InboxThread.class).getMatchedCount();
+            if (matched > 0) return;
+        }
+    }
+
+    /** Unread messages over all of the user's threads, not just the listed page. */
+    public int totalUnread(Long userId) {
+        Document total = mongo.aggregate(Aggregation.newAggregation(
+                        Aggregation.match(Criteria.where("userId").is(userId)),
+                        Aggregation.group().sum("unread").as("total")),
+                InboxThread.class, Document.class).getUniqueMappedResult();
+        return total == null ? 0 : ((Number) total.get("total")).intValue();
+    }
+
+    public List<InboxThread> threadsFor(Long userId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_THREADS));
+        return threads.findByUserIdOrderByLastMessageAtDesc(userId, PageRequest.of(0, size));
+    }
+
+    /**
+     * First start after upgrading: creates the threads of bookings that already had messages, so
+     * the inbox lists them. They start as read up to their last message. Existing threads are left
+     * alone, and completion is recorded in {@code startup_markers}. Bookings already moved to the
+     * archive are not listed.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillThreads() {
+        try {
+            MongoCollection<Document> markers = mongo.getCollection(MARKERS);
+            if (markers.find(Filters.eq("_id", BACKFILL_DONE)).first() != null) return;
+            TypedAggregation<Message> lastPerBooking = Aggregation.newAggregation(Message.class,
+                    Aggregation.sort(Sort.by("booking.id", "id")),
+                    Aggregation.group("booking.id")
+                            .last("id").as("messageId")
+                            .last("sender.id").as("senderId")
+                            .last("content").as("content")
+                            .last("sentAt").as("sentAt"))
+                    .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+            int created = 0;
+            List<Document> batch = new ArrayList<>();
+            try (Stream<Document> last = mongo.aggregateStream(lastPerBooking, Document.class)) {
+                for (Document d : (Iterable<Document>) last::iterator) {
+                    batch.add(d);
+                    if (batch.size() == BACKFILL_BATCH) {
+                        created += backfillBatch(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) created += backfillBatch(batch);
+            markers.replaceOne(Filters.eq("_id", BACKFILL_DONE),
+                    new Document("_id", BACKFILL_DONE).append("at", new Date()),
+                    new ReplaceOptions().upsert(true));
+            if (created > 0) log.info("Backfilled {} inbox threads", created);
+        } catch (RuntimeException e) {
+            log.warn("Inbox thread backfill failed", e);
+        }
+    }
+
+    private int backfillBatch(List<Document> lastMessages) {
+        List<Object> bookingIds = lastMessages.stream().map(d -> d.get("_id")).toList();
+        Map<Object, Booking> bookings = new HashMap<>();
+        for (Booking b : mongo.find(new Query(Criteria.where("id").in(bookingIds)), Booking.class)) {
+            bookings.put(b.getId(), b);
+        }
+        BulkOperations ops = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, InboxThread.class);
+        int threads = 0;
+        for (Document d : lastMessages) {
+            Booking b = bookings.get(d.get("_id"));
+            if (b == null) continue;
+            Long messageId = ((Number) d.get("messageId")).longValue();
+            String content = d.getString("content") != null ? d.getString("content") : "";
+            Object sentAt = d.get("sentAt");
+            for (Long userId : participants(b)) {
+                // setOnInsert only: a thread a live post created since the deploy is already correct
+                ops.upsert(new Query(Criteria.where("id").is(InboxThread.key(userId, b.getId()))), new Update()
+                        .setOnInsert("userId", userId)
+                        .setOnInsert("bookingId", b.getId())
+                        .setOnInsert("listingTitle", b.getListing() != null ? b.getListing().getTitle() : null)
+                        .setOnInsert("unread", 0)
+                        .setOnInsert("lastMessageId", messageId)
+                        .setOnInsert("lastReadMessageId", messageId)
+                        .setOnInsert("lastSenderId", d.get("senderId"))
+                        .setOnInsert("lastMessagePreview", content.length() > PREVIEW_LENGTH ? content.substring(0, PREVIEW_LENGTH) : content)
+                        .setOnInsert("lastMessageAt", sentAt instanceof Date at ? at : new Date()));
+                threads++;
+            }
+        }
+        if (threads > 0) return ops.execute().getUpserts().size();
+        return 0;
+    }
+}
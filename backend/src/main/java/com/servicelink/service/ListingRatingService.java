@@ -0,0 +1,147 @@
+package com.servicelink.service;
+
+import com.servicelink.model.ListingRating;
+import com.servicelink.model.Review;
+import com.servicelink.model.ServiceListing;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains the {@link ListingRating} embedded in listing documents.
+ * A new review is folded in with one atomic pipeline update; a nightly job rebuilds every
+ * aggregate from the hot and archived reviews to correct any drift. {@link ServiceListing} does not
+ * map the sub-document, so listings must be changed with {@code $set} updates: a full save would
+ * replace the document without it.
+ */
+@Service
+public class ListingRatingService {
+
+    public static final String FIELD = "rating";
+
+    private static final Logger log = LoggerFactory.getLogger(ListingRatingService.class);
+
+    /** Reads only the rating sub-document of a listing. */
+    static class RatingView {
+        @Id Long id;
+        ListingRating rating;
+    }
+
+    private final MongoTemplate mongo;
+    private final NodeCaches caches;
+
+    public ListingRatingService(MongoTemplate mongo, NodeCaches caches) {
+        this.mongo = mongo;
+        this.caches = caches;
+    }
+
+    public void record(Long listingId, int rating) {
+        if (listingId == null || rating < 1 || rating > 5) return;
+        String star = FIELD + ".star" + rating;
+        // a pipeline update so count, sum and avg move together in one atomic write
+        AggregationUpdate update = AggregationUpdate.from(List.of(
+                ctx -> new Document("$set", new Document()
+                        .append(FIELD + ".count", incremented(FIELD + ".count", 1))
+                        .append(FIELD + ".sum", incremented(FIELD + ".sum", rating))
+                        .append(star, incremented(star, 1))),
+                ctx -> new Document("$set", new Document(FIELD + ".avg",
+                        new Document("$divide", List.of("$" + FIELD + ".sum", "$" + FIELD + ".count"))))));
+        mongo.updateFirst(new Query(Criteria.where("id").is(listingId)), update, ServiceListing.class);
+        caches.evict(NodeCaches.LISTINGS, List.of(listingId));
+    }
+
+    /** Rating aggregates of the given listings in one query; listings without reviews are absent. */
+    public Map<Long, ListingRating> ratingsFor(Collection<Long> listingIds) {
+        Map<Long, ListingRating> out = new HashMap<>();
+        if (listingIds.isEmpty()) return out;
+        Query q = new Query(Criteria.where("_id").in(listingIds).and(FIELD).exists(true));
+        q.fields().include(FIELD);
+        for (RatingView v : mongo.find(q, RatingView.class, mongo.getCollectionName(ServiceListing.class))) {
+            out.put(v.id, v.rating);
+        }
+        return out;
+    }
+
+    @Scheduled(cron = "${app.ratings.recompute-cron:0 30 3 * * *}")
+    public void recomputeAll() {
+        Map<Long, ListingRating> totals = new HashMap<>();
+        // grouped on the listingId snapshot written with each review (see ReviewFeedService)
+        Aggregation byListingAndStars = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("listingId").exists(true)),
+                Aggregation.group("listingId", "rating").count().as("n"));
+        for (String collection : List.of(mongo.getCollectionName(Review.class), BookingArchiveService.REVIEWS_ARCHIVE)) {
+            for (Document row : mongo.aggregate(byListingAndStars, collection, Document.class)) {
+                Document key = row.get("_id", Document.class);
+                Number listingId = (Number) key.get("listingId");
+                Number rating = (Number) key.get("rating");
+                if (listingId == null || rating == null) continue;
+                fold(totals.computeIfAbsent(listingId.longValue(), k -> new ListingRating()), rating.intValue(), ((Number) row.get("n")).longValue());
+            }
+        }
+        List<Long> cleared = clearUnreviewed(totals.keySet());
+        if (!totals.isEmpty()) {
+            BulkOperations ops = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, ServiceListing.class);
+            totals.forEach((listingId, r) -> ops.updateOne(new Query(Criteria.where("id").is(listingId)), Update.update(FIELD, r)));
+            ops.execute();
+            caches.evict(NodeCaches.LISTINGS, totals.keySet());
+        }
+        if (!cleared.isEmpty()) caches.evict(NodeCaches.LISTINGS, cleared);
+        log.info("Recomputed rating aggregates for {} listings, cleared {}", totals.size(), cleared.size());
+    }
+
+    /**
+     * Drops the aggregate of listings whose reviews were all deleted. Each unset only applies if the
+     * count is still the one read here, so a review recorded meanwhile keeps its rating.
+     */
+    private List<Long> clearUnreviewed(Set<Long> reviewed) {
+        Query rated = new Query(Criteria.where(FIELD).exists(true));
+        rated.fields().include(FIELD + ".count");
+        List<Long> cleared = new ArrayList<>();
+        BulkOperations ops = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, ServiceListing.class);
+        try (var listings = mongo.stream(rated, RatingView.class, mongo.getCollectionName(ServiceListing.class))) {
+            for (RatingView v : (Iterable<RatingView>) listings::iterator) {
+                if (reviewed.contains(v.id)) continue;
+                ops.updateOne(new Query(Criteria.where("id").is(v.id).and(FIELD + ".count").is(v.rating.getCount())),
+                        new Update().unset(FIELD));
+                cleared.add(v.id);
+            }
+        }
+        if (!cleared.isEmpty()) ops.execute();
+        return cleared;
+    }
+
+    private static void fold(ListingRating r, int stars, long n) {
+        if (stars < 1 || stars > 5) return;
+        r.setCount(r.getCount() + n);
+        r.setSum(r.getSum() + stars * n);
+        r.setAvg((double) r.getSum() / r.getCount());
+        switch (stars) {
+            case 1 -> r.setStar1(r.getStar1() + n);
+            case 2 -> r.setStar2(r.getStar2() + n);
+            case 3 -> r.setStar3(r.getStar3() + n);
+            case 4 -> r.setStar4(r.getStar4() + n);
+            default -> r.setStar5(r.getStar5() + n);
+        }
+    }
+
+    private static Document incremented(String path, long by) {
+        return new Document("$add", List.of(new Document("$ifNull", List.of("$" + path, 0)), by));
+    }
+}
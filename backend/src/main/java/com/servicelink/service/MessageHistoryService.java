@@ -0,0 +1,98 @@
+package com.servicelink.service;
+
+import com.servicelink.model.Message;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keyset pagination over a booking's messages on the (booking.id, sentAt, id) index.
+ * Cursors are message ids; the anchor's sentAt is resolved with a single projected lookup.
+ * A request without any paging parameter still gets the whole thread, as before paging existed.
+ */
+@Service
+public class MessageHistoryService {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    public record Slice(List<Message> messages, boolean hasMore) {}
+
+    private record Anchor(LocalDateTime sentAt, Long id) {}
+
+    private final MongoTemplate mongo;
+
+    public MessageHistoryService(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    /**
+     * Returns up to {@code limit} messages in ascending order: the ones right after {@code after},
+     * the ones right before {@code before}, or the latest page when only a limit is given. With no
+     * cursor and no limit it returns every message of the booking.
+     */
+    public Slice page(Long bookingId, Long before, Long after, Integer limit, boolean archived) {
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("Use either 'before' or 'after', not both");
+        }
+        String collection = collection(archived);
+        if (before == null && after == null && limit == null) {
+            Query all = new Query(Criteria.where("booking.id").is(bookingId))
+                    .with(Sort.by(Sort.Order.asc("sentAt"), Sort.Order.asc("id")));
+            return new Slice(mongo.find(all, Message.class, collection), false);
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        Criteria c = Criteria.where("booking.id").is(bookingId);
+        boolean ascending = after != null;
+        if (after != null) {
+            Anchor a = anchor(bookingId, after, collection);
+            c = c.orOperator(
+                    Criteria.where("sentAt").gt(a.sentAt()),
+                    Criteria.where("sentAt").is(a.sentAt()).and("id").gt(a.id()));
+        } else if (before != null) {
+            Anchor a = anchor(bookingId, before, collection);
+            c = c.orOperator(
+                    Criteria.where("sentAt").lt(a.sentAt()),
+                    Criteria.where("sentAt").is(a.sentAt()).and("id").lt(a.id()));
+        }
+        Sort.Direction dir = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Query q = new Query(c)
+                .with(Sort.by(new Sort.Order(dir, "sentAt"), new Sort.Order(dir, "id")))
+                .limit(size + 1);
+        List<Message> found = new ArrayList<>(mongo.find(q, Message.class, collection));
+        boolean hasMore = found.size() > size;
+        if (hasMore) found.remove(found.size() - 1);
+        if (!ascending) Collections.reverse(found);
+        return new Slice(found, hasMore);
+    }
+
+    /** Id of the newest message of the booking, or null; answered from the index alone. */
+    public Long latestId(Long bookingId, boolean archived) {
+        Query q = new Query(Criteria.where("booking.id").is(bookingId))
+                .with(Sort.by(Sort.Order.desc("sentAt"), Sort.Order.desc("id")))
+                .limit(1);
+        q.fields().include("id");
+        Message latest = mongo.findOne(q, Message.class, collection(archived));
+        return latest != null ? latest.getId() : null;
+    }
+
+    private Anchor anchor(Long bookingId, Long messageId, String collection) {
+        Query q = new Query(Criteria.where("id").is(messageId).and("booking.id").is(bookingId));
+        q.fields().include("sentAt");
+        Message m = mongo.findOne(q, Message.class, collection);
+        if (m == null) throw new IllegalArgumentException("Unknown message cursor: " + messageId);
+        return new Anchor(m.getSentAt(), messageId);
+    }
+
+    private String collection(boolean archived) {
+        return archived ? BookingArchiveService.MESSAGES_ARCHIVE : mongo.getCollectionName(Message.class);
+    }
+}
@@ -0,0 +1,221 @@
+package com.servicelink.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicelink.config.WorkerThreads;
+import com.servicelink.dto.MessageDtos;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-booking fan-out of new messages to Server-Sent Event subscribers.
+ * <p>
+ * An idle subscriber is just an {@link SseEmitter} parked in the servlet container's async mode, so it
+ * holds no thread. Each subscriber has a bounded queue drained by a small shared pool; a subscriber whose
+ * queue is full is disconnected instead of buffering without limit. Messages posted on other nodes arrive
+ * through the {@link ClusterEventBus}.
+ */
+@Service
+public class MessageStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageStreamService.class);
+    private static final String TOPIC = "booking-message";
+
+    private static final class Subscriber {
+        final Long bookingId;
+        final SseEmitter emitter;
+        final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(Long bookingId, SseEmitter emitter, int capacity) {
+            this.bookingId = bookingId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ClusterEventBus bus;
+    private final Map<Long, Set<Subscriber>> byBooking = new ConcurrentHashMap<>();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final ExecutorService senders;
+
+    @Value("${app.stream.buffer-size:64}")
+    private int bufferSize;
+    @Value("${app.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+    @Value("${app.stream.max-subscribers:50000}")
+    private int maxSubscribers;
+
+    public MessageStreamService(ObjectMapper objectMapper, ClusterEventBus bus, WorkerThreads threads,
+                                @Value("${app.stream.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.bus = bus;
+        this.senders = Executors.newFixedThreadPool(senderThreads, threads.named("message-stream-sender"));
+        bus.subscribe(TOPIC, payload -> deliverLocally(payload.getLong("bookingId"), payload.getLong("messageId"), payload.getString("json")));
+    }
+
+    /** Registers a subscriber for a booking, or returns null when the node is at capacity. */
+    public SseEmitter subscribe(Long bookingId) {
+        if (connected.incrementAndGet() > maxSubscribers) {
+            connected.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber s = new Subscriber(bookingId, emitter, bufferSize);
+        emitter.onCompletion(() -> remove(s));
+        emitter.onTimeout(() -> close(s));
+        emitter.onError(e -> remove(s));
+        byBooking.compute(bookingId, (id, subs) -> {
+            Set<Subscriber> out = subs != null ? subs : ConcurrentHashMap.newKeySet();
+            out.add(s);
+            return out;
+        });
+        return emitter;
+    }
+
+    /** Most messages replayed on reconnect; half the queue, so live messages still fit during the catch-up. */
+    public int replayLimit() {
+        return Math.max(1, bufferSize / 2);
+    }
+
+    /**
+     * Queues what one subscriber missed while reconnecting. When {@code more} is set, a {@code truncated}
+     * event carrying the last replayed id follows; the client pages the rest with {@code GET /messages?after=}.
+     */
+    public void replay(SseEmitter emitter, Long bookingId, List<MessageDtos.Response> messages, boolean more) {
+        Subscriber s = find(emitter, bookingId);
+        if (s == null) return;
+        for (MessageDtos.Response m : messages) {
+            offer(s, event(m.id, toJson(m)));
+        }
+        if (more && !messages.isEmpty()) {
+            offer(s, SseEmitter.event().name("truncated").data(String.valueOf(messages.get(messages.size() - 1).id)));
+        }
+    }
+
+    /** Drops a subscriber whose emitter was never handed to the container, so its callbacks will not fire. */
+    public void cancel(SseEmitter emitter, Long bookingId) {
+        Subscriber s = find(emitter, bookingId);
+        if (s != null) remove(s);
+    }
+
+    /** Pushes a newly posted message to subscribers on this node and on every other node. */
+    public void publish(MessageDtos.Response message) {
+        String json = toJson(message);
+        deliverLocally(message.bookingId, message.id, json);
+        bus.publish(TOPIC, new Document("bookingId", message.bookingId)
+                .append("messageId", message.id)
+                .append("json", json));
+    }
+
+    public int connectedCount() {
+        return connected.get();
+    }
+
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        // keeps proxies from closing idle streams and flushes out dead connections
+        byBooking.values().forEach(subs -> subs.forEach(s -> offer(s, SseEmitter.event().comment("ping"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        byBooking.values().forEach(subs -> subs.forEach(this::close));
+        senders.shutdown();
+    }
+
+    private void deliverLocally(Long bookingId, Long messageId, String json) {
+        Set<Subscriber> subs = byBooking.get(bookingId);
+        if (subs == null || subs.isEmpty()) return;
+        for (Subscriber s : subs) {
+            offer(s, event(messageId, json));
+        }
+    }
+
+    private Subscriber find(SseEmitter emitter, Long bookingId) {
+        Set<Subscriber> subs = byBooking.get(bookingId);
+        if (subs == null) return null;
+        return subs.stream().filter(s -> s.emitter == emitter).findFirst().orElse(null);
+    }
+
+    private SseEmitter.SseEventBuilder event(Long messageId, String json) {
+        return SseEmitter.event()
+                .id(String.valueOf(messageId))
+                .name("message")
+                .data(json, MediaType.APPLICATION_JSON);
+    }
+
+    private void offer(Subscriber s, SseEmitter.SseEventBuilder event) {
+        if (s.closed.get()) return;
+        if (!s.queue.offer(event)) {
+            log.debug("Disconnecting slow stream subscriber of booking {}", s.bookingId);
+            close(s);
+            return;
+        }
+        if (s.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(s));
+        }
+    }
+
+    private void drain(Subscriber s) {
+        do {
+            SseEmitter.SseEventBuilder next;
+            while ((next = s.queue.poll()) != null) {
+                try {
+                    s.emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    close(s);
+                    return;
+                }
+            }
+            s.draining.set(false);
+            // an offer may have slipped in between the last poll and the flag reset
+        } while (!s.queue.isEmpty() && s.draining.compareAndSet(false, true));
+    }
+
+    private void close(Subscriber s) {
+        if (remove(s)) {
+            s.emitter.complete();
+        }
+    }
+
+    private boolean remove(Subscriber s) {
+        if (!s.closed.compareAndSet(false, true)) return false;
+        s.queue.clear();
+        connected.decrementAndGet();
+        byBooking.computeIfPresent(s.bookingId, (id, subs) -> {
+            subs.remove(s);
+            return subs.isEmpty() ? null : subs;
+        });
+        return true;
+    }
+
+    private String toJson(MessageDtos.Response message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize message", e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.servicelink.service;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the Mongo commands issued while a {@link Profile} is open on the current thread, with
+ * their total server time and normalized shapes (collection, operation and filter keys, values
+ * replaced by {@code ?}). The sync driver reports command events on the calling thread, so a
+ * profile opened by the request filter sees exactly that request's queries. The same API lets
+ * tests put a query budget on an endpoint:
+ *
+ * <pre>
+ * try (var p = profiler.begin("GET /api/bookings/{id}")) {
+ *     mvc.perform(get("/api/bookings/1"));
+ *     p.assertAtMost(3);
+ * }
+ * </pre>
+ */
+@Service
+public class MongoQueryProfiler implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoQueryProfiler.class);
+    private static final Set<String> SKIPPED = Set.of("hello", "isMaster", "ismaster", "ping", "saslStart", "saslContinue",
+            "getMore", "killCursors", "endSessions", "buildInfo");
+
+    private final ThreadLocal<Profile> current = new ThreadLocal<>();
+
+    @Value("${app.profiler.enabled:false}")
+    private boolean enabled;
+    @Value("${app.profiler.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+    @Value("${app.profiler.slow-ms:500}")
+    private long slowMs;
+
+    /** Starts profiling the current thread; close the returned profile to stop. */
+    public Profile begin(String label) {
+        Profile p = new Profile(label, current.get());
+        current.set(p);
+        return p;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Logs N+1 suspects and, for slow requests, the full per-shape breakdown. */
+    public void report(Profile p, String label, long elapsedMs) {
+        for (Map.Entry<String, Integer> e : p.repeatedShapes(nPlusOneThreshold)) {
+            log.warn("Possible N+1 in {}: {} x {}", label, e.getValue(), e.getKey());
+        }
+        if (elapsedMs >= slowMs) {
+            log.warn("Slow request {} took {} ms: {}", label, elapsedMs, p.summary());
+        } else if (log.isDebugEnabled()) {
+            log.debug("{}: {}", label, p.summary());
+        }
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        Profile p = current.get();
+        if (p == null || SKIPPED.contains(event.getCommandName())) return;
+        p.inFlight.put(event.getRequestId(), shape(event.getCommandName(), event.getCommand()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finished(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finished(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void finished(int requestId, long nanos) {
+        Profile p = current.get();
+        if (p == null) return;
+        String shape = p.inFlight.remove(requestId);
+        if (shape != null) p.record(shape, nanos);
+    }
+
+    static String shape(String command, BsonDocument cmd) {
+        BsonValue target = cmd.get(command);
+        StringBuilder sb = new StringBuilder(command);
+        if (target != null && target.isString()) sb.append(' ').append(target.asString().getValue());
+        switch (command) {
+            case "find", "count", "distinct", "findAndModify" -> appendShape(sb.append(' '), cmd.get(command.equals("count") ? "query" : "filter"));
+            case "aggregate" -> appendShape(sb.append(' '), cmd.get("pipeline"));
+            case "update" -> appendStatements(sb, cmd.get("updates"), "q");
+            case "delete" -> appendStatements(sb, cmd.get("deletes"), "q");
+            default -> { }
+        }
+        return sb.toString();
+    }
+
+    private static void appendStatements(StringBuilder sb, BsonValue statements, String filterKey) {
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) return;
+        BsonValue first = statements.asArray().get(0);
+        if (first.isDocument()) appendShape(sb.append(' '), first.asDocument().get(filterKey));
+    }
+
+    private static void appendShape(StringBuilder sb, BsonValue v) {
+        if (v == null) {
+            sb.append("{}");
+        } else if (v.isDocument()) {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> e : v.asDocument().entrySet()) {
+                if (!first) sb.append(", ");
+                first = false;
+                sb.append(e.getKey()).append(": ");
+                appendShape(sb, e.getValue());
+            }
+            sb.append('}');
+        } else if (v.isArray()) {
+            BsonArray a = v.asArray();
+            // $in lists and $and/$or branches of any length collapse to the shape of their first element
+            sb.append('[');
+            if (!a.isEmpty()) {
+                if (a.get(0).isDocument() || a.get(0).isArray()) appendShape(sb, a.get(0));
+                else sb.append('?');
+            }
+            sb.append(']');
+        } else {
+            sb.append('?');
+        }
+    }
+
+    public final class Profile implements AutoCloseable {
+        private final String label;
+        private final Profile parent;
+        private final Map<Integer, String> inFlight = new HashMap<>();
+        private final Map<String, Integer> shapes = new LinkedHashMap<>();
+        private int commands;
+        private long nanos;
+
+        private Profile(String label, Profile parent) {
+            this.label = label;
+            this.parent = parent;
+        }
+
+        private void record(String shape, long elapsed) {
+            for (Profile p = this; p != null; p = p.parent) {
+                p.commands++;
+                p.nanos += elapsed;
+                p.shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public int commandCount() {
+            return commands;
+        }
+
+        public long dbTimeMs() {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+
+        public Map<String, Integer> shapes() {
+            return Map.copyOf(shapes);
+        }
+
+        public List<Map.Entry<String, Integer>> repeatedShapes(int threshold) {
+            return shapes.entrySet().stream().filter(e -> e.getValue() >= threshold).map(e -> Map.entry(e.getKey(), e.getValue())).toList();
+        }
+
+        /** Throws with the per-shape breakdown when more than {@code max} commands were issued. */
+        public void assertAtMost(int max) {
+            if (commands > max) {
+                throw new AssertionError(label + " issued " + commands + " Mongo commands, budget is " + max + ": " + summary());
+            }
+        }
+
+        public String summary() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(commands).append(" commands, ").append(dbTimeMs()).append(" ms in db");
+            shapes.forEach((shape, n) -> sb.append("\n  ").append(n).append(" x ").append(shape));
+            return sb.toString();
+        }
+
+        @Override
+        public void close() {
+            if (parent != null) current.set(parent);
+            else current.remove();
+        }
+    }
+}
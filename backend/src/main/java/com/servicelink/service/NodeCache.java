@@ -0,0 +1,72 @@
+package com.servicelink.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.servicelink.config.PrimaryReads;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * One node-local cache of entities, see {@link NodeCaches}. Entries are dropped by entity id, so
+ * a cache keyed by something else (a user's login name) still loses every entry of a changed user.
+ * <p>
+ * A load is not written back when an eviction ran while it was reading: without that check a read
+ * that started before a write could park the old document in the cache right after its eviction.
+ * Callers never share an instance with the cache: a load keeps a copy and every hit returns one,
+ * so a caller that mutates its result cannot change what other requests see.
+ */
+public final class NodeCache<K, V> {
+
+    private final String name;
+    private final Cache<K, V> cache;
+    private final Function<V, Long> idOf;
+    private final UnaryOperator<V> copyOf;
+    private final boolean enabled;
+    private final AtomicLong evictions = new AtomicLong();
+
+    NodeCache(String name, Cache<K, V> cache, Function<V, Long> idOf, UnaryOperator<V> copyOf, boolean enabled) {
+        this.name = name;
+        this.cache = cache;
+        this.idOf = idOf;
+        this.copyOf = copyOf;
+        this.enabled = enabled;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Cached value or the loader's; null results are not cached. */
+    public V get(K key, Function<K, V> loader) {
+        if (!enabled) return loader.apply(key);
+        V value = cache.getIfPresent(key);
+        if (value != null) return copyOf.apply(value);
+        long seen = evictions.get();
+        // never from a secondary: a lagging replica would put the pre-write document back for the whole TTL
+        value = PrimaryReads.get(() -> loader.apply(key));
+        if (value != null) {
+            cache.put(key, copyOf.apply(value));
+            if (evictions.get() != seen) cache.invalidate(key);
+        }
+        return value;
+    }
+
+    /** Drops the entries of these entity ids, or everything when ids is null or the cache has no id. */
+    void evictLocally(Collection<Long> ids) {
+        evictions.incrementAndGet();
+        if (ids == null || idOf == null) {
+            cache.invalidateAll();
+        } else if (!ids.isEmpty()) {
+            cache.asMap().values().removeIf(v -> ids.contains(idOf.apply(v)));
+        }
+    }
+
+    /** Drops the entries that depend on an entity changed elsewhere, such as listings of a renamed owner. */
+    void evictLocallyWhere(Predicate<V> stale) {
+        evictions.incrementAndGet();
+        cache.asMap().values().removeIf(stale);
+    }
+}
@@ -0,0 +1,159 @@
+package com.servicelink.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.servicelink.dto.ListingDtos;
+import com.servicelink.model.ServiceCategory;
+import com.servicelink.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.bson.Document;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-node read caches for the hot lookups: users by login name (every authenticated request),
+ * listing details by id and the category list. Each is a bounded Caffeine cache, whose admission policy
+ * (W-TinyLFU) keeps frequently used entries when a scan of one-off ids passes through.
+ * <p>
+ * MongoDB stays the only shared copy. A write evicts the entity on this node and broadcasts the
+ * eviction through the {@link ClusterEventBus}, so other nodes drop it within the bus latency.
+ * Entries also expire after {@code app.cache.ttl} in case an eviction is lost (a failed publish,
+ * a write made outside the app). With {@code app.cache.enabled=false} every lookup hits the database.
+ * Listing responses carry their owner's and category's names, so evicting a user or a category
+ * also drops the listings that show it.
+ */
+@Service
+public class NodeCaches {
+
+    public static final String TOPIC = "cache.evict";
+    public static final String USERS = "users";
+    public static final String LISTINGS = "listings";
+    public static final String CATEGORIES = "categories";
+
+    private final ClusterEventBus bus;
+    private final MeterRegistry meters;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Map<String, NodeCache<?, ?>> caches = new ConcurrentHashMap<>();
+    private final NodeCache<String, User> users;
+    private final NodeCache<Long, ListingDtos.Response> listings;
+    private final NodeCache<String, List<ServiceCategory>> categories;
+
+    public NodeCaches(ClusterEventBus bus, MeterRegistry meters,
+                      @Value("${app.cache.enabled:true}") boolean enabled,
+                      @Value("${app.cache.ttl:10m}") Duration ttl,
+                      @Value("${app.cache.users.max-size:10000}") long maxUsers,
+                      @Value("${app.cache.listings.max-size:10000}") long maxListings) {
+        this.bus = bus;
+        this.meters = meters;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.users = create(USERS, maxUsers, User::getId, NodeCaches::copy);
+        this.listings = create(LISTINGS, maxListings, r -> r.id, NodeCaches::copy);
+        // one entry, the whole list; any category change drops it
+        this.categories = create(CATEGORIES, 1, null, list -> list.stream().map(NodeCaches::copy).toList());
+        bus.subscribe(TOPIC, this::onRemoteEviction);
+    }
+
+    /** Keyed by the identifier the user logs in with (username or email). */
+    public NodeCache<String, User> users() {
+        return users;
+    }
+
+    /** Listing responses as served by {@code GET /api/listings/{id}}, rating included. */
+    public NodeCache<Long, ListingDtos.Response> listings() {
+        return listings;
+    }
+
+    public NodeCache<String, List<ServiceCategory>> categories() {
+        return categories;
+    }
+
+    /** Evicts these entity ids here and on every other node; null ids evict the whole cache. */
+    public void evict(String cache, Collection<Long> ids) {
+        NodeCache<?, ?> c = caches.get(cache);
+        if (c == null) throw new IllegalArgumentException("Unknown cache " + cache);
+        // nothing cached anywhere when disabled (the setting is expected to match across nodes)
+        if (!enabled) return;
+        evictLocally(c, ids);
+        counter(cache, "local").increment();
+        bus.publish(TOPIC, new Document("cache", cache).append("ids", ids == null ? null : new ArrayList<>(ids)));
+    }
+
+    private void onRemoteEviction(Document payload) {
+        NodeCache<?, ?> c = caches.get(payload.getString("cache"));
+        if (c == null) return;
+        List<Long> ids = payload.getList("ids", Long.class);
+        evictLocally(c, ids);
+        counter(c.name(), "remote").increment();
+    }
+
+    private void evictLocally(NodeCache<?, ?> c, Collection<Long> ids) {
+        c.evictLocally(ids);
+        if (c == users) {
+            listings.evictLocallyWhere(r -> ids == null || ids.contains(r.ownerId));
+        } else if (c == categories) {
+            listings.evictLocallyWhere(r -> ids == null || ids.contains(r.categoryId));
+        }
+    }
+
+    private <K, V> NodeCache<K, V> create(String name, long maxSize, Function<V, Long> idOf, UnaryOperator<V> copyOf) {
+        var cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<K, V>build();
+        // cache.gets{result=hit|miss}, cache.evictions (size and expiry), cache.size, tagged cache=<name>
+        CaffeineCacheMetrics.monitor(meters, cache, name);
+        NodeCache<K, V> c = new NodeCache<>(name, cache, idOf, copyOf, enabled);
+        caches.put(name, c);
+        return c;
+    }
+
+    private static User copy(User u) {
+        User c = new User();
+        BeanUtils.copyProperties(u, c);
+        if (u.getRoleNames() != null) c.setRoleNames(new ArrayList<>(u.getRoleNames()));
+        return c;
+    }
+
+    private static ServiceCategory copy(ServiceCategory category) {
+        ServiceCategory c = new ServiceCategory();
+        BeanUtils.copyProperties(category, c);
+        return c;
+    }
+
+    private static ListingDtos.Response copy(ListingDtos.Response r) {
+        ListingDtos.Response c = new ListingDtos.Response();
+        c.id = r.id;
+        c.title = r.title;
+        c.description = r.description;
+        c.price = r.price;
+        c.ownerId = r.ownerId;
+        c.ownerName = r.ownerName;
+        c.categoryId = r.categoryId;
+        c.categoryName = r.categoryName;
+        c.ratingAverage = r.ratingAverage;
+        c.ratingCount = r.ratingCount;
+        c.ratingHistogram = r.ratingHistogram != null ? r.ratingHistogram.clone() : null;
+        return c;
+    }
+
+    private Counter counter(String cache, String origin) {
+        return Counter.builder("servicelink.cache.invalidations")
+                .description("Evictions applied because an entity changed")
+                .tag("cache", cache).tag("origin", origin)
+                .register(meters);
+    }
+}
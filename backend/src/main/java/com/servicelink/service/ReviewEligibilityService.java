@@ -0,0 +1,56 @@
+package com.servicelink.service;
+
+import com.servicelink.model.Booking;
+import com.servicelink.model.BookingStatus;
+import com.servicelink.model.Review;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Finds a completed, not yet reviewed booking of a customer for a listing with one aggregation:
+ * an index match on (customer.id, listing.id, status) anti-joined against reviews. The join checks
+ * both the bookingId snapshot and the stored booking reference, so a review that the snapshot
+ * backfill has not reached yet still counts.
+ */
+@Service
+public class ReviewEligibilityService {
+
+    private final MongoTemplate mongo;
+    private volatile String bookingRefPath;
+
+    public ReviewEligibilityService(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    public Optional<Long> firstReviewableBooking(Long customerId, Long listingId) {
+        TypedAggregation<Booking> agg = Aggregation.newAggregation(Booking.class,
+                Aggregation.match(Criteria.where("customer.id").is(customerId)
+                        .and("listing.id").is(listingId)
+                        .and("status").is(BookingStatus.COMPLETED)),
+                Aggregation.lookup(mongo.getCollectionName(Review.class), "_id", "bookingId", "reviews"),
+                Aggregation.match(Criteria.where("reviews").size(0)),
+                Aggregation.lookup(mongo.getCollectionName(Review.class), "_id", bookingRefPath(), "legacyReviews"),
+                Aggregation.match(Criteria.where("legacyReviews").size(0)),
+                Aggregation.limit(1),
+                Aggregation.project("_id"));
+        Document first = mongo.aggregate(agg, Document.class).getUniqueMappedResult();
+        return Optional.ofNullable(first).map(d -> ((Number) d.get("_id")).longValue());
+    }
+
+    /** Stored path of Review.booking.id; $lookup fields are not mapped through the entity. */
+    private String bookingRefPath() {
+        if (bookingRefPath == null) {
+            Document mapped = new QueryMapper(mongo.getConverter()).getMappedObject(new Document("booking.id", 0L),
+                    mongo.getConverter().getMappingContext().getPersistentEntity(Review.class));
+            bookingRefPath = mapped.keySet().iterator().next();
+        }
+        return bookingRefPath;
+    }
+}
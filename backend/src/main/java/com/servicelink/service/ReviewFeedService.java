@@ -0,0 +1,137 @@
+package com.servicelink.service;
+
+import com.servicelink.model.Booking;
+import com.servicelink.model.Review;
+import com.servicelink.model.ReviewFeedItem;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Cursor-paged review feed per listing, served from snapshot fields on the review documents
+ * and the (listingId, createdAt desc, _id desc) index. Snapshots are written by the save
+ * callback below; reviews written before it existed are backfilled once on startup.
+ */
+@Service
+public class ReviewFeedService implements BeforeSaveCallback<Review> {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewFeedService.class);
+    private static final Comparator<ReviewFeedItem> NEWEST_FIRST = Comparator
+            .comparing(ReviewFeedItem::getCreatedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(ReviewFeedItem::getId)
+            .reversed();
+
+    public record Slice(List<ReviewFeedItem> reviews, boolean hasMore) {}
+
+    private final ObjectProvider<MongoTemplate> mongoProvider; // lazy: the template invokes this callback
+
+    public ReviewFeedService(ObjectProvider<MongoTemplate> mongoProvider) {
+        this.mongoProvider = mongoProvider;
+    }
+
+    @Override
+    public Review onBeforeSave(Review review, Document document, String collection) {
+        Booking b = review.getBooking();
+        if (b == null) return review;
+        document.put("bookingId", b.getId());
+        if (b.getListing() != null) document.put("listingId", b.getListing().getId());
+        if (b.getCustomer() != null) {
+            document.put("authorId", b.getCustomer().getId());
+            document.put("authorName", b.getCustomer().getName());
+        }
+        return review;
+    }
+
+    /**
+     * Newest reviews of a listing, continuing after the {@code before} review when given. Without a
+     * cursor or a limit every review is returned, as before the feed was paged.
+     */
+    public Slice page(Long listingId, Long before, Integer limit) {
+        boolean all = before == null && limit == null;
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        MongoTemplate mongo = mongoProvider.getObject();
+        List<String> collections = List.of(mongo.getCollectionName(Review.class), BookingArchiveService.REVIEWS_ARCHIVE);
+
+        ReviewFeedItem anchor = null;
+        if (before != null) {
+            for (String c : collections) {
+                Query q = new Query(Criteria.where("_id").is(before).and("listingId").is(listingId));
+                q.fields().include("createdAt");
+                anchor = mongo.findOne(q, ReviewFeedItem.class, c);
+                if (anchor != null) break;
+            }
+            if (anchor == null) throw new IllegalArgumentException("Unknown review cursor: " + before);
+        }
+
+        // bookings are archived by their own date, so an archived review can be newer than a hot one:
+        // take the next page from each collection and merge them on (createdAt, id)
+        List<ReviewFeedItem> found = new ArrayList<>();
+        for (String c : collections) {
+            Criteria where = Criteria.where("listingId").is(listingId);
+            if (anchor != null) {
+                LocalDateTime at = anchor.getCreatedAt();
+                where = where.orOperator(
+                        Criteria.where("createdAt").lt(at),
+                        Criteria.where("createdAt").is(at).and("_id").lt(before));
+            }
+            Query q = new Query(where).with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")));
+            if (!all) q.limit(size + 1);
+            found.addAll(mongo.find(q, ReviewFeedItem.class, c));
+        }
+        found.sort(NEWEST_FIRST);
+        if (all) return new Slice(found, false);
+        boolean hasMore = found.size() > size;
+        return new Slice(hasMore ? found.subList(0, size) : found, hasMore);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSnapshots() {
+        MongoTemplate mongo = mongoProvider.getObject();
+        // archived legacy reviews need the snapshot too, or they drop out of the feed and the rating recompute
+        for (String collection : List.of(mongo.getCollectionName(Review.class), BookingArchiveService.REVIEWS_ARCHIVE)) {
+            backfillSnapshots(mongo, collection);
+        }
+    }
+
+    private void backfillSnapshots(MongoTemplate mongo, String collection) {
+        Query missing = new Query(Criteria.where("listingId").exists(false));
+        int updated = 0;
+        try (var legacy = mongo.stream(missing, Review.class, collection)) {
+            for (Review r : (Iterable<Review>) legacy::iterator) {
+                Booking b = r.getBooking();
+                if (b == null || b.getListing() == null) continue;
+                Update u = new Update()
+                        .set("bookingId", b.getId())
+                        .set("listingId", b.getListing().getId());
+                if (b.getCustomer() != null) {
+                    u.set("authorId", b.getCustomer().getId()).set("authorName", b.getCustomer().getName());
+                }
+                mongo.updateFirst(new Query(Criteria.where("id").is(r.getId())), u, Review.class, collection);
+                updated++;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Review snapshot backfill failed in {}", collection, e);
+        }
+        if (updated > 0) log.info("Backfilled author/listing snapshots on {} reviews in {}", updated, collection);
+    }
+}
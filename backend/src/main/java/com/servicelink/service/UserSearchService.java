@@ -0,0 +1,193 @@
+package com.servicelink.service;
+
+import com.servicelink.model.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Case-insensitive prefix search over user name, email and username. Lower-cased copies of
+ * the three fields are written on every save and indexed together with {@code _id}, so an
+ * anchored prefix match is an index range scan already in keyset order. Each field is read
+ * as its own stream; a user is only emitted by the first field that matches, and the page
+ * is a merge of the three streams, with the cursor holding each stream's position.
+ */
+@Service
+public class UserSearchService implements BeforeSaveCallback<User> {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    /** Stored lower-case field per searchable property, in ownership order. */
+    static final List<String[]> FIELDS = List.of(
+            new String[]{"name", "nameLc"},
+            new String[]{"email", "emailLc"},
+            new String[]{"username", "usernameLc"});
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchService.class);
+
+    public record Page(List<User> users, String nextCursor) {}
+
+    record Hit(int stream, String key, Long id) {}
+
+    record Merge(List<Long> ids, boolean more) {}
+
+    private final ObjectProvider<MongoTemplate> mongoProvider; // lazy: the template invokes this callback
+
+    public UserSearchService(ObjectProvider<MongoTemplate> mongoProvider) {
+        this.mongoProvider = mongoProvider;
+    }
+
+    @Override
+    public User onBeforeSave(User user, Document document, String collection) {
+        document.put("nameLc", lower(user.getName()));
+        document.put("emailLc", lower(user.getEmail()));
+        document.put("usernameLc", lower(user.getUsername()));
+        return user;
+    }
+
+    public Page search(String q, String roleName, Integer limit, String cursor) {
+        if (q == null || q.isBlank()) throw new IllegalArgumentException("q is required");
+        String prefix = q.trim().toLowerCase(Locale.ROOT);
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        String[][] positions = decode(cursor);
+        Pattern anchored = Pattern.compile("^" + escape(prefix));
+        MongoTemplate mongo = mongoProvider.getObject();
+
+        // each stream returns at most size + 1 hits in (key, _id) order
+        List<List<Hit>> streams = new ArrayList<>();
+        Map<Long, User> fetched = new HashMap<>();
+        for (int s = 0; s < FIELDS.size(); s++) {
+            String field = FIELDS.get(s)[1];
+            List<Criteria> parts = new ArrayList<>();
+            parts.add(Criteria.where(field).regex(anchored));
+            for (int earlier = 0; earlier < s; earlier++) {
+                parts.add(Criteria.where(FIELDS.get(earlier)[1]).not().regex(anchored));
+            }
+            if (roleName != null) parts.add(Criteria.where("roleNames").is(roleName));
+            String[] pos = positions[s];
+            if (pos != null) {
+                parts.add(new Criteria().orOperator(
+                        Criteria.where(field).gt(pos[0]),
+                        new Criteria().andOperator(Criteria.where(field).is(pos[0]), Criteria.where("_id").gt(Long.parseLong(pos[1])))));
+            }
+            Query query = new Query(new Criteria().andOperator(parts.toArray(Criteria[]::new)))
+                    .with(Sort.by(Sort.Order.asc(field), Sort.Order.asc("_id")))
+                    .limit(size + 1);
+            query.fields().exclude("password");
+            List<Hit> hits = new ArrayList<>();
+            for (Document d : mongo.find(query, Document.class, mongo.getCollectionName(User.class))) {
+                Hit hit = new Hit(s, d.getString(field), ((Number) d.get("_id")).longValue());
+                hits.add(hit);
+                fetched.put(hit.id(), mongo.getConverter().read(User.class, d));
+            }
+            streams.add(hits);
+        }
+
+        Merge page = merge(streams, positions, size);
+        return new Page(page.ids().stream().map(fetched::get).toList(), page.more() ? encode(positions) : null);
+    }
+
+    /**
+     * Merges the ordered streams into one page of at most {@code size} ids. Only the positions of
+     * consumed hits advance, so a hit left over in any stream is the first of the next page.
+     */
+    static Merge merge(List<List<Hit>> streams, String[][] positions, int size) {
+        int[] heads = new int[streams.size()];
+        List<Long> ids = new ArrayList<>();
+        while (ids.size() < size) {
+            Hit next = null;
+            for (int s = 0; s < streams.size(); s++) {
+                if (heads[s] >= streams.get(s).size()) continue;
+                Hit h = streams.get(s).get(heads[s]);
+                if (next == null || compare(h, next) < 0) next = h;
+            }
+            if (next == null) break;
+            heads[next.stream()]++;
+            positions[next.stream()] = new String[]{next.key(), String.valueOf(next.id())};
+            ids.add(next.id());
+        }
+        boolean more = false;
+        for (int s = 0; s < streams.size(); s++) more |= heads[s] < streams.get(s).size();
+        return new Merge(ids, more);
+    }
+
+    /** Fills the lower-case fields of users saved before they existed, in one server-side update. */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        MongoTemplate mongo = mongoProvider.getObject();
+        AggregationUpdate set = AggregationUpdate.update();
+        for (String[] f : FIELDS) {
+            set.set(f[1]).toValue(StringOperators.valueOf(f[0]).toLower());
+        }
+        long updated = mongo.updateMulti(new Query(Criteria.where("nameLc").exists(false)), set, User.class).getModifiedCount();
+        if (updated > 0) log.info("Backfilled search fields on {} users", updated);
+    }
+
+    private static int compare(Hit a, Hit b) {
+        int c = a.key().compareTo(b.key());
+        return c != 0 ? c : Long.compare(a.id(), b.id());
+    }
+
+    /** Escapes metacharacters one by one so the server still recognises a plain, index-bounded prefix. */
+    private static String escape(String literal) {
+        StringBuilder sb = new StringBuilder(literal.length() + 8);
+        for (char ch : literal.toCharArray()) {
+            if ("\\^$.|?*+()[]{}".indexOf(ch) >= 0) sb.append('\\');
+            sb.append(ch);
+        }
+        return sb.toString();
+    }
+
+    private static String lower(String s) {
+        return s == null ? null : s.toLowerCase(Locale.ROOT);
+    }
+
+    static String encode(String[][] positions) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < positions.length; i++) {
+            String[] p = positions[i];
+            if (i > 0) sb.append('\n');
+            if (p != null) sb.append(p[1]).append('\t').append(p[0]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[][] decode(String cursor) {
+        String[][] positions = new String[FIELDS.size()][];
+        if (cursor == null || cursor.isBlank()) return positions;
+        try {
+            String[] lines = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", -1);
+            for (int i = 0; i < positions.length && i < lines.length; i++) {
+                if (lines[i].isEmpty()) continue;
+                int tab = lines[i].indexOf('\t');
+                positions[i] = new String[]{lines[i].substring(tab + 1), String.valueOf(Long.parseLong(lines[i].substring(0, tab)))};
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return positions;
+    }
+}
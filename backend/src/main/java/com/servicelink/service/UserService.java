@@ -14,11 +14,16 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final SequenceGeneratorService seq;
+    private final AdminStatsService stats;
+    private final NodeCaches caches;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, SequenceGeneratorService seq) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, SequenceGeneratorService seq, AdminStatsService stats,
+                       NodeCaches caches) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.seq = seq;
+        this.stats = stats;
+        this.caches = caches;
     }
 
     @Transactional
@@ -43,7 +48,9 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(password));
         user.setRoleNames(List.of(roleName));
         user.setActive(true);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        stats.onUserCreated(saved);
+        return saved;
     }
 
     public PasswordEncoder getPasswordEncoder() {
@@ -52,7 +59,7 @@ public class UserService {
 
     public User getByEmail(String identifier) {
         // Accept either email or username for lookups since auth principal uses username
-        return userRepository.findByUsernameOrEmail(identifier, identifier).orElse(null);
+        return caches.users().get(identifier, k -> userRepository.findByUsernameOrEmail(k, k).orElse(null));
     }
 
     public User getById(@NonNull Long id) {
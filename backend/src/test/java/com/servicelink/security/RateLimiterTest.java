@@ -0,0 +1,116 @@
+package com.servicelink.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.servicelink.security.RateLimiter.RouteClass.DEFAULT;
+import static com.servicelink.security.RateLimiter.RouteClass.LOGIN;
+import static com.servicelink.security.RateLimiter.RouteClass.SEARCH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private long now = 1_000 * SECOND;
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    // login: burst 3, one token per second; search: burst 2, 10/s; default: burst 5, 5/s
+    private RateLimiter limiter(int maxClients) {
+        RateLimiter limiter = new RateLimiter(meters, true, maxClients, 3, 1, 2, 10, 5, 5);
+        limiter.nanoTime = () -> now;
+        return limiter;
+    }
+
+    @Test
+    void allowsTheBurstThenRefusesWithTheWaitForTheNextToken() {
+        RateLimiter limiter = limiter(100);
+
+        for (int i = 0; i < 3; i++) assertThat(limiter.tryAcquire(LOGIN, "a")).isZero();
+        assertThat(limiter.tryAcquire(LOGIN, "a")).isEqualTo(SECOND);
+
+        now += SECOND / 4;
+        assertThat(limiter.tryAcquire(LOGIN, "a")).isEqualTo(SECOND * 3 / 4);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        RateLimiter limiter = limiter(100);
+        for (int i = 0; i < 3; i++) limiter.tryAcquire(LOGIN, "a");
+
+        now += SECOND;
+        assertThat(limiter.tryAcquire(LOGIN, "a")).isZero();
+        assertThat(limiter.tryAcquire(LOGIN, "a")).isPositive();
+
+        // a long pause refills up to the burst, not beyond it
+        now += 60 * SECOND;
+        for (int i = 0; i < 3; i++) assertThat(limiter.tryAcquire(LOGIN, "a")).isZero();
+        assertThat(limiter.tryAcquire(LOGIN, "a")).isPositive();
+    }
+
+    @Test
+    void refusedRequestsDoNotSpendTokens() {
+        RateLimiter limiter = limiter(100);
+        for (int i = 0; i < 3; i++) limiter.tryAcquire(LOGIN, "a");
+        for (int i = 0; i < 50; i++) limiter.tryAcquire(LOGIN, "a");
+
+        now += SECOND;
+        assertThat(limiter.tryAcquire(LOGIN, "a")).isZero();
+        assertThat(meters.get("servicelink.ratelimit.requests").tag("route", "login").tag("outcome", "limited").counter().count())
+                .isEqualTo(50);
+    }
+
+    @Test
+    void budgetsAreSeparatePerClientAndRouteClass() {
+        RateLimiter limiter = limiter(100);
+        for (int i = 0; i < 3; i++) limiter.tryAcquire(LOGIN, "a");
+
+        assertThat(limiter.tryAcquire(LOGIN, "a")).isPositive();
+        assertThat(limiter.tryAcquire(LOGIN, "b")).isZero();
+        assertThat(limiter.tryAcquire(SEARCH, "a")).isZero();
+        assertThat(limiter.tryAcquire(DEFAULT, "a")).isZero();
+    }
+
+    @Test
+    void sweepDropsOnlyFullBuckets() {
+        RateLimiter limiter = limiter(100);
+        for (int i = 0; i < 3; i++) limiter.tryAcquire(LOGIN, "busy");
+        limiter.tryAcquire(LOGIN, "idle");
+
+        now += 2 * SECOND;
+        limiter.sweep();
+
+        assertThat(meters.get("servicelink.ratelimit.clients").tag("route", "login").gauge().value()).isEqualTo(1);
+        // the busy client kept its debt: only one of the three tokens came back
+        assertThat(limiter.tryAcquire(LOGIN, "busy")).isZero();
+        assertThat(limiter.tryAcquire(LOGIN, "busy")).isZero();
+        assertThat(limiter.tryAcquire(LOGIN, "busy")).isPositive();
+    }
+
+    @Test
+    void makesRoomWhenTheClientMapIsFull() {
+        RateLimiter limiter = limiter(10);
+        for (int i = 0; i < 10; i++) {
+            for (int t = 0; t < 3; t++) limiter.tryAcquire(LOGIN, "c" + i);
+        }
+
+        assertThat(limiter.tryAcquire(LOGIN, "new")).isZero();
+        assertThat(meters.get("servicelink.ratelimit.clients").tag("route", "login").gauge().value()).isLessThanOrEqualTo(10);
+        assertThat(meters.get("servicelink.ratelimit.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void classifiesApiRoutes() {
+        assertThat(RateLimiter.classify(request("POST", "/api/auth/login"))).isEqualTo(LOGIN);
+        assertThat(RateLimiter.classify(request("GET", "/api/listings"))).isEqualTo(SEARCH);
+        assertThat(RateLimiter.classify(request("GET", "/api/listings/7"))).isEqualTo(DEFAULT);
+        assertThat(RateLimiter.classify(request("GET", "/livez"))).isNull();
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
@@ -0,0 +1,99 @@
+package com.servicelink.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    // 2 levels of 4 slots with 1 ms ticks: level 0 covers 4 ticks, the whole wheel 16
+    private HierarchicalTimingWheel<String> smallWheel() {
+        return new HierarchicalTimingWheel<>(1, 2, 2, 0);
+    }
+
+    @Test
+    void firesOnItsTickAndNotBefore() {
+        HierarchicalTimingWheel<String> wheel = smallWheel();
+        wheel.schedule(3, "a");
+
+        assertThat(wheel.advanceTo(2)).isEmpty();
+        assertThat(wheel.advanceTo(3)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cascadesFromUpperLevelsOntoTheExactTick() {
+        HierarchicalTimingWheel<String> wheel = smallWheel();
+        wheel.schedule(6, "level1");
+        wheel.schedule(13, "level1-late");
+
+        assertThat(wheel.advanceTo(5)).isEmpty();
+        assertThat(wheel.advanceTo(6)).containsExactly("level1");
+        assertThat(wheel.advanceTo(12)).isEmpty();
+        assertThat(wheel.advanceTo(13)).containsExactly("level1-late");
+    }
+
+    @Test
+    void keepsTimersBeyondTheWheelRangeUntilTheyComeDue() {
+        HierarchicalTimingWheel<String> wheel = smallWheel();
+        wheel.schedule(40, "overflow");
+        wheel.schedule(16, "next-rotation");
+
+        assertThat(wheel.advanceTo(15)).isEmpty();
+        assertThat(wheel.advanceTo(16)).containsExactly("next-rotation");
+        assertThat(wheel.advanceTo(39)).isEmpty();
+        assertThat(wheel.advanceTo(40)).containsExactly("overflow");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void firesPastDeadlinesOnTheNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 2, 2, 100);
+        wheel.schedule(50, "late");
+
+        assertThat(wheel.advanceTo(100)).containsExactly("late");
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        HierarchicalTimingWheel<String> wheel = smallWheel();
+        HierarchicalTimingWheel.Timeout<String> near = wheel.schedule(2, "near");
+        HierarchicalTimingWheel.Timeout<String> far = wheel.schedule(30, "far");
+        wheel.schedule(9, "kept");
+
+        assertThat(wheel.cancel(near)).isTrue();
+        assertThat(wheel.cancel(far)).isTrue();
+        assertThat(wheel.cancel(far)).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advanceTo(64)).containsExactly("kept");
+    }
+
+    @Test
+    void everyTimerFiresExactlyOnceOnItsTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 3, 3, 0);
+        Random random = new Random(42);
+        Map<String, Long> dueTick = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            // up to twice the 512-tick range, so some start beyond it
+            long deadline = random.nextInt(10 * 1024);
+            wheel.schedule(deadline, "t" + i);
+            dueTick.put("t" + i, deadline / 10);
+        }
+
+        List<String> fired = new ArrayList<>();
+        for (long tick = 0; tick <= 1024; tick++) {
+            for (String t : wheel.advanceTo(tick * 10)) {
+                assertThat(dueTick.get(t)).as(t).isEqualTo(tick);
+                fired.add(t);
+            }
+        }
+        assertThat(fired).hasSize(2000).doesNotHaveDuplicates();
+        assertThat(wheel.size()).isZero();
+    }
+}
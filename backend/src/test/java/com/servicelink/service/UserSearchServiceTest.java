@@ -0,0 +1,104 @@
+package com.servicelink.service;
+
+import com.servicelink.service.UserSearchService.Hit;
+import com.servicelink.service.UserSearchService.Merge;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserSearchServiceTest {
+
+    @Test
+    void interleavesTheStreamsByKeyThenId() {
+        List<List<Hit>> streams = List.of(
+                List.of(hit(0, "ann", 4), hit(0, "bob", 1)),
+                List.of(hit(1, "ann", 2), hit(1, "cid", 3)),
+                List.of(hit(2, "amy", 9)));
+
+        Merge page = UserSearchService.merge(streams, new String[3][], 10);
+
+        assertThat(page.ids()).containsExactly(9L, 2L, 4L, 1L, 3L);
+        assertThat(page.more()).isFalse();
+    }
+
+    @Test
+    void advancesOnlyThePositionsOfConsumedHits() {
+        List<List<Hit>> streams = List.of(
+                List.of(hit(0, "a", 1), hit(0, "d", 2)),
+                List.of(hit(1, "b", 3)),
+                List.of(hit(2, "e", 4)));
+        String[][] positions = new String[3][];
+        positions[2] = new String[]{"c", "8"};
+
+        Merge page = UserSearchService.merge(streams, positions, 2);
+
+        assertThat(page.ids()).containsExactly(1L, 3L);
+        assertThat(page.more()).isTrue();
+        assertThat(positions[0]).containsExactly("a", "1");
+        assertThat(positions[1]).containsExactly("b", "3");
+        assertThat(positions[2]).containsExactly("c", "8");
+    }
+
+    @Test
+    void pagingWalksEveryMatchOnceInOrder() {
+        Random random = new Random(7);
+        List<List<Hit>> all = new ArrayList<>();
+        List<Hit> expected = new ArrayList<>();
+        long id = 0;
+        for (int s = 0; s < 3; s++) {
+            List<Hit> stream = new ArrayList<>();
+            for (int i = 0; i < 40; i++) stream.add(hit(s, "k" + random.nextInt(15), ++id));
+            stream.sort(ORDER);
+            all.add(stream);
+            expected.addAll(stream);
+        }
+        expected.sort(ORDER);
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            String[][] positions = UserSearchService.decode(cursor);
+            List<List<Hit>> streams = new ArrayList<>();
+            for (int s = 0; s < 3; s++) streams.add(after(all.get(s), positions[s], 7 + 1));
+            Merge page = UserSearchService.merge(streams, positions, 7);
+            walked.addAll(page.ids());
+            cursor = page.more() ? UserSearchService.encode(positions) : null;
+        } while (cursor != null);
+
+        assertThat(walked).containsExactlyElementsOf(expected.stream().map(Hit::id).toList());
+    }
+
+    @Test
+    void cursorRoundTripsIncludingUntouchedStreams() {
+        String[][] positions = {{"ann lee", "12"}, null, {"bob", "3"}};
+
+        assertThat(UserSearchService.decode(UserSearchService.encode(positions))).isDeepEqualTo(positions);
+        assertThat(UserSearchService.decode(null)).isDeepEqualTo(new String[3][]);
+    }
+
+    @Test
+    void rejectsAMalformedCursor() {
+        assertThatThrownBy(() -> UserSearchService.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserSearchService.decode("eHl6CWFiYw")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final Comparator<Hit> ORDER = Comparator.comparing(Hit::key).thenComparing(Hit::id);
+
+    // what the stream's query returns: hits strictly after the position, at most limit of them
+    private static List<Hit> after(List<Hit> stream, String[] position, int limit) {
+        return stream.stream()
+                .filter(h -> position == null || ORDER.compare(h, hit(h.stream(), position[0], Long.parseLong(position[1]))) > 0)
+                .limit(limit)
+                .toList();
+    }
+
+    private static Hit hit(int stream, String key, long id) {
+        return new Hit(stream, key, id);
+    }
+}
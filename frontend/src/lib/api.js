@@ -4,13 +4,31 @@ const api = axios.create({
   baseURL: import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080',
 });
 
+// Causal token of the latest write we saw; sent back so reads served by a secondary include it.
+const CAUSAL_TOKEN_KEY = 'servicelink_causal_token';
+let causalToken = sessionStorage.getItem(CAUSAL_TOKEN_KEY);
+
+function rememberCausalToken(token) {
+  if (!token) return;
+  if (causalToken && BigInt(token) <= BigInt(causalToken)) return;
+  causalToken = token;
+  sessionStorage.setItem(CAUSAL_TOKEN_KEY, token);
+}
+
 api.interceptors.request.use((config) => {
   const token = localStorage.getItem('servicelink_token');
   if (token) {
     config.headers.Authorization = `Bearer ${token}`;
   }
+  if (causalToken) {
+    config.headers['X-Causal-Token'] = causalToken;
+  }
   return config;
 });
 
-export default api;
+api.interceptors.response.use((response) => {
+  rememberCausalToken(response.headers['x-causal-token']);
+  return response;
+});
 
+export default api;
@@ -2,16 +2,23 @@ import React from 'react';
 import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import api from '../lib/api';
 
-function useUsers(role, page = 0, size = 20) {
+function useUsers(role, q, page = 0, size = 20) {
   return useQuery({
-    queryKey: ['admin-users', role, page, size],
-    queryFn: async () => (await api.get('/api/admin/users', { params: { role, page, size } })).data,
+    queryKey: ['admin-users', role, q, page, size],
+    queryFn: async () => {
+      if (q) {
+        const res = (await api.get('/api/admin/users/search', { params: { q, role, limit: size } })).data;
+        return { content: res.users };
+      }
+      return (await api.get('/api/admin/users', { params: { role, page, size } })).data;
+    },
   });
 }
 
 export default function AdminUsersPage() {
   const [role, setRole] = React.useState('');
-  const { data } = useUsers(role);
+  const [q, setQ] = React.useState('');
+  const { data } = useUsers(role, q.trim());
   const qc = useQueryClient();
 
   const toggle = useMutation({
@@ -25,6 +32,13 @@ export default function AdminUsersPage() {
         <h1 className="sl-page-title">Admin - Users</h1>
         <div className="sl-page-subtitle">Inspect accounts and toggle access.</div>
 
+        <input
+          className="sl-input"
+          style={{ maxWidth: 280, marginTop: 16, marginRight: 8 }}
+          placeholder="Search name, email or username"
+          value={q}
+          onChange={(e) => setQ(e.target.value)}
+        />
         <select
           className="sl-input"
           style={{ maxWidth: 200, marginTop: 16, marginBottom: 16 }}
@@ -48,6 +48,11 @@ export default function ListingsPage() {
                onBlur={(e) => setFilter('maxPrice', e.target.value)} />
         <input className="sl-input" type="number" placeholder="Category ID" defaultValue={params.get('categoryId') || ''}
                onBlur={(e) => setFilter('categoryId', e.target.value)} />
+        <select className="sl-input" value={params.get('sort') || ''}
+                onChange={(e) => setFilter('sort', e.target.value)}>
+          <option value="">Default order</option>
+          <option value="rating">Top rated</option>
+        </select>
       </div>
 
       {isLoading && (
@@ -72,6 +77,11 @@ export default function ListingsPage() {
             {data.content.map((item) => (
               <div key={item.id} className="sl-page-card" style={{ padding: 14 }}>
                 <div className="font-medium">{item.title}</div>
+                {item.ratingCount > 0 && (
+                  <div className="sl-text-muted" style={{ fontSize: '0.75rem', marginTop: 2 }}>
+                    ★ {item.ratingAverage.toFixed(1)} ({item.ratingCount})
+                  </div>
+                )}
                 <div className="text-sm text-gray-300" style={{ marginTop: 4 }}>
                   {item.description?.slice(0, 120) || 'No description provided.'}
                 </div>